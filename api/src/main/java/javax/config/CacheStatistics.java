@@ -0,0 +1,46 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *******************************************************************************/
+
+package javax.config;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Statistics of an internal cache of a {@link Config}.
+ *
+ * An instance of {@code CacheStatistics} holds the counts at the time it got retrieved.
+ * It will not get updated afterwards.
+ *
+ * @see Config#getMissingValueCacheStatistics()
+ */
+@ProviderType
+public interface CacheStatistics {
+
+    /**
+     * @return the number of lookups which could be answered from the cache
+     */
+    long getHitCount();
+
+    /**
+     * @return the number of lookups which could not be answered from the cache
+     */
+    long getMissCount();
+}
@@ -34,10 +34,16 @@
 
 package javax.config;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 
 import javax.config.spi.ConfigSource;
 
+import org.osgi.annotation.versioning.ProviderType;
+
 /**
  * <p>
  * Resolves the property value by searching through all configured
@@ -90,6 +96,7 @@ import javax.config.spi.ConfigSource;
  * @author <a href="mailto:alexander.falb@rise-world.com">Alex Falb</a>
  *
  */
+@ProviderType
 public interface Config {
 
     /**
@@ -130,9 +137,169 @@ public interface Config {
      */
     <T> Optional<T> getOptionalValue(String propertyName, Class<T> propertyType);
 
+    /**
+     * Return the resolved property value with the specified type for the
+     * specified property name from the underlying {@link ConfigSource ConfigSources} asynchronously.
+     *
+     * <p>The {@link ConfigSource ConfigSources} get queried in the calling thread as long as they
+     * are not {@link ConfigSource#isBlocking() blocking}. If the value got resolved that way then the returned
+     * {@link CompletionStage} is already completed. Otherwise the resolution continues with the remaining
+     * {@link ConfigSource ConfigSources} on the executor defined via
+     * {@link javax.config.spi.ConfigBuilder#withExecutor(java.util.concurrent.Executor)}.
+     *
+     * <p>Note that no variable replacement like in {@link ConfigAccessor.Builder#evaluateVariables(boolean)} will be performed!
+     *
+     * @param <T>  the property type
+     * @param propertyName
+     *             The configuration propertyName.
+     * @param propertyType
+     *             The type into which the resolve property value should get converted
+     * @return a {@link CompletionStage} which gets completed with the resolved property value.
+     *         It gets completed exceptionally with an {@link IllegalArgumentException} if the property cannot be
+     *         converted to the specified type or with a {@link java.util.NoSuchElementException} if the property
+     *         isn't present in the configuration.
+     * @see #getValue(String, Class)
+     */
+    <T> CompletionStage<T> getValueAsync(String propertyName, Class<T> propertyType);
+
+    /**
+     * Create a {@link ConfigKey} for the given property name.
+     *
+     * <p>The returned key can be stored and used for repeated lookups via {@link #getValue(ConfigKey, Class)}
+     * and {@link #getOptionalValue(ConfigKey, Class)}. This avoids searching the property name
+     * in all the {@link ConfigSource ConfigSources} over and over again.
+     *
+     * @param propertyName
+     *             The configuration propertyName.
+     * @return a {@code ConfigKey} for the given propertyName
+     */
+    ConfigKey key(String propertyName);
+
+    /**
+     * Return the resolved property value with the specified type for the
+     * specified {@link ConfigKey} from the underlying {@link ConfigSource ConfigSources}.
+     *
+     * The result must be the same as {@code getValue(key.getPropertyName(), propertyType)}.
+     *
+     * @param <T>  the property type
+     * @param key
+     *             The configuration key created via {@link #key(String)}.
+     * @param propertyType
+     *             The type into which the resolve property value should get converted
+     * @return the resolved property value as an object of the requested type.
+     * @throws IllegalArgumentException if the property cannot be converted to the specified type
+     *             or if the key hasn't been created by this {@code Config}.
+     * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+     * @see #getValue(String, Class)
+     */
+    <T> T getValue(ConfigKey key, Class<T> propertyType);
+
+    /**
+     * Return the resolved property value with the specified type for the
+     * specified {@link ConfigKey} from the underlying {@link ConfigSource ConfigSources}.
+     *
+     * The result must be the same as {@code getOptionalValue(key.getPropertyName(), propertyType)}.
+     *
+     * @param <T>  the property type
+     * @param key
+     *             The configuration key created via {@link #key(String)}.
+     * @param propertyType
+     *             The type into which the resolve property value should be converted
+     * @return the resolved property value as an Optional of the requested type.
+     * @throws IllegalArgumentException if the property cannot be converted to the specified type
+     *             or if the key hasn't been created by this {@code Config}.
+     * @see #getOptionalValue(String, Class)
+     */
+    <T> Optional<T> getOptionalValue(ConfigKey key, Class<T> propertyType);
+
+    /**
+     * Return the resolved property value as primitive {@code int}.
+     *
+     * The result must be the same as {@code getValue(propertyName, Integer.class)} but
+     * implementations should not create a boxed {@link Integer} for this call.
+     *
+     * @param propertyName
+     *             The configuration propertyName.
+     * @return the resolved property value as {@code int}
+     * @throws IllegalArgumentException if the property cannot be converted to {@code int}.
+     * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+     * @see #getValue(String, Class)
+     */
+    int getIntValue(String propertyName);
+
+    /**
+     * Return the resolved property value as primitive {@code long}.
+     *
+     * The result must be the same as {@code getValue(propertyName, Long.class)} but
+     * implementations should not create a boxed {@link Long} for this call.
+     *
+     * @param propertyName
+     *             The configuration propertyName.
+     * @return the resolved property value as {@code long}
+     * @throws IllegalArgumentException if the property cannot be converted to {@code long}.
+     * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+     * @see #getValue(String, Class)
+     */
+    long getLongValue(String propertyName);
+
+    /**
+     * Return the resolved property value as primitive {@code double}.
+     *
+     * The result must be the same as {@code getValue(propertyName, Double.class)} but
+     * implementations should not create a boxed {@link Double} for this call.
+     *
+     * @param propertyName
+     *             The configuration propertyName.
+     * @return the resolved property value as {@code double}
+     * @throws IllegalArgumentException if the property cannot be converted to {@code double}.
+     * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+     * @see #getValue(String, Class)
+     */
+    double getDoubleValue(String propertyName);
+
+    /**
+     * Return the resolved property value as primitive {@code boolean}.
+     *
+     * The result must be the same as {@code getValue(propertyName, Boolean.class)}.
+     *
+     * @param propertyName
+     *             The configuration propertyName.
+     * @return the resolved property value as {@code boolean}
+     * @throws IllegalArgumentException if the property cannot be converted to {@code boolean}.
+     * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+     * @see #getValue(String, Class)
+     */
+    boolean getBooleanValue(String propertyName);
+
+    /**
+     * Return the resolved property values with the specified type for all the
+     * specified property names from the underlying {@link ConfigSource ConfigSources}.
+     *
+     * <p>The result is the same as calling {@link #getOptionalValue(String, Class)} for each of the property names.
+     * But implementations should resolve all the property names in a single pass over the
+     * {@link ConfigSource ConfigSources} by using {@link ConfigSource#getValues(java.util.Set)}.
+     * Use this method if many values need to be read at once, e.g. during startup.
+     *
+     * <p>Note that no variable replacement like in {@link ConfigAccessor.Builder#evaluateVariables(boolean)} will be performed!
+     *
+     * @param <T>  the property type
+     * @param propertyNames
+     *             The configuration propertyNames.
+     * @param propertyType
+     *             The type into which the resolved property values should get converted
+     * @return a Map with the property name as key and the resolved property value as value.
+     *         Property names which are not present in the configuration are not contained in the Map.
+     * @throws IllegalArgumentException if any of the property values cannot be converted to the specified type.
+     */
+    <T> Map<String, T> getValues(Collection<String> propertyNames, Class<T> propertyType);
+
     /**
      * Create a {@link ConfigAccessor} to access the underlying configuration.
      *
+     * <p>For primitive values use {@link ConfigAccessor.Builder#buildInt()}, {@link ConfigAccessor.Builder#buildLong()},
+     * {@link ConfigAccessor.Builder#buildDouble()} or {@link ConfigAccessor.Builder#buildBoolean()}
+     * to get a {@link ConfigAccessor} which doesn't box the resolved value.
+     *
      * @param propertyName the property key
      * @param type type into which the resolve property value should get converted
      * @param <T> the property type 
@@ -140,6 +307,53 @@ public interface Config {
      */
     <T> ConfigAccessor.Builder<T> access(String propertyName, Class<T> type);
 
+    /**
+     * Return an implementation of the given interface whose methods return configured values.
+     *
+     * <p>Each abstract method of the interface must not have parameters and must not return {@code void}.
+     * It gets bound to the property name {@code prefix + name}, where {@code name} is taken from
+     * {@link javax.config.inject.ConfigProperty#name()} if the method is annotated with a non empty name,
+     * or is the method name otherwise. Thus a {@link javax.config.inject.ConfigProperty} which only specifies
+     * a {@link javax.config.inject.ConfigProperty#defaultValue()} still uses the method name.
+     * A {@link javax.config.inject.ConfigProperty#defaultValue()} gets used if no value is configured.
+     * Methods may return any type with an appropriate {@link javax.config.spi.Converter},
+     * including primitive types and {@code Optional<T>}. Default methods of the interface are not bound.
+     * If neither a value nor a default value exists, invoking a method which does not return an {@code Optional}
+     * throws a {@code java.util.NoSuchElementException}.
+     *
+     * <pre>
+     * public interface ServerSettings {
+     *     String host();
+     *
+     *     &#064;ConfigProperty(name = "port", defaultValue = "8080")
+     *     int port();
+     * }
+     *
+     * ServerSettings settings = config.bind(ServerSettings.class, "myapp.server.");
+     * </pre>
+     *
+     * <p>The methods of the returned instance reflect the current configuration.
+     * The implementation gets created once per interface and must not use reflection per invocation.
+     * Instead it should be generated, e.g. as a hidden class on Java versions which support them,
+     * or be based on {@link java.lang.invoke.MethodHandle MethodHandles}, with the {@link javax.config.spi.Converter}
+     * for each method resolved in advance.
+     * If all {@link ConfigSource ConfigSources} return {@link ConfigSource.ChangeSupport#SUPPORTED} or
+     * {@link ConfigSource.ChangeSupport#IMMUTABLE}, invoking a method should then only cost a field read
+     * and a check of {@link #getGeneration()} as long as the configuration did not change.
+     * Changes in ConfigSources which return {@link ConfigSource.ChangeSupport#UNSUPPORTED}, e.g. system properties,
+     * do not change the generation. Thus a method has to resolve its value again on each invocation
+     * if such a ConfigSource is present, unless it provides a {@link ConfigSource#getVersion() version} which did not change.
+     *
+     * @param configInterface the interface to implement
+     * @param prefix the prefix for all property names of the interface, e.g. {@code "myapp.server."}.
+     *               An empty prefix uses the names as they are.
+     * @param <I> the type of the interface
+     * @return an instance of the given interface backed by this {@code Config}
+     * @throws IllegalArgumentException if {@code configInterface} is not an interface, if one of its abstract methods
+     *         has parameters or returns {@code void}, or if no {@link javax.config.spi.Converter} exists for a return type
+     */
+    <I> I bind(Class<I> configInterface, String prefix);
+
     /**
      * <p>This method can be used to access multiple
      * {@link ConfigAccessor} which must be consistent.
@@ -178,19 +392,118 @@ public interface Config {
      * They should be used as local variables inside a method.
      * Values will not be reloaded for an open {@link ConfigSnapshot}.
      *
+     * <p>Implementations should share all unchanged values with the previously taken {@link ConfigSnapshot}.
+     * Taking a snapshot per request then only costs as much as the number of values which changed in the meantime.
+     * See {@link ConfigSnapshot#getVersion()}.
+     *
      * @param configValues the list of {@link ConfigAccessor} to be accessed in an atomic way
      *
      * @return a new {@link ConfigSnapshot} which holds the resolved values of all the {@code configValues}.
      */
     ConfigSnapshot snapshotFor(ConfigAccessor<?>... configValues);
 
+    /**
+     * Return the current generation of this configuration.
+     *
+     * <p>The generation gets incremented whenever any of the underlying {@link ConfigSource ConfigSources}
+     * reports a change via the callback provided in
+     * {@link ConfigSource#setValueChangeCallback(java.util.function.Consumer)}.
+     * This allows to cheaply check whether a locally cached value might be stale:
+     *
+     * <pre>
+     * if (config.getGeneration() != cachedGeneration) {
+     *     cachedGeneration = config.getGeneration();
+     *     cachedValue = config.getValue("myapp.some.value", String.class);
+     * }
+     * </pre>
+     *
+     * <p>Note that changes in {@link ConfigSource ConfigSources} which return
+     * {@link ConfigSource.ChangeSupport#UNSUPPORTED} cannot be detected this way.
+     * Reading the generation must not be more expensive than a single volatile read.
+     *
+     * @return the current generation of this configuration
+     */
+    long getGeneration();
+
+    /**
+     * Return the statistics of the cache for missing values.
+     *
+     * <p>Looking up a property name which is not present in any {@link ConfigSource} requires to query all of them.
+     * Thus a {@code Config} remembers property names which could not be found.
+     * Such an entry gets removed if any {@link ConfigSource} reports a change of this property name
+     * via the callback provided in {@link ConfigSource#setValueChangeCallback(java.util.function.Consumer)}.
+     *
+     * <p>If all {@link ConfigSource ConfigSources} return {@link ConfigSource.ChangeSupport#SUPPORTED} or
+     * {@link ConfigSource.ChangeSupport#IMMUTABLE} then missing values must be cached.
+     * As a {@link ConfigSource} which returns {@link ConfigSource.ChangeSupport#UNSUPPORTED} can not report changes,
+     * missing values are only cached for the time configured via
+     * {@link javax.config.spi.ConfigBuilder#withMissingValueCacheTtl(java.time.Duration)} in this case,
+     * unless such a {@link ConfigSource} provides a {@link ConfigSource#getVersion() version} which did not change.
+     *
+     * @return the hit and miss counts of the cache for missing values
+     */
+    CacheStatistics getMissingValueCacheStatistics();
+
+    /**
+     * Register a listener which gets notified if a configured value changes.
+     *
+     * <p>If {@code keyOrPrefix} ends with a dot {@code '.'} then the listener gets notified about changes of
+     * all property names which start with this prefix. An empty {@code keyOrPrefix} matches all property names,
+     * so the listener gets notified about every change. Otherwise the listener only gets notified about changes
+     * of exactly this property name.
+     *
+     * <pre>
+     * ConfigChangeRegistration registration = config.onChange("myapp.db.", event -&gt; reconnect());
+     * ...
+     * registration.unregister();
+     * </pre>
+     *
+     * <p>Changes get detected via the callback provided to each {@link ConfigSource} in
+     * {@link ConfigSource#setValueChangeCallback(java.util.function.Consumer)}.
+     * Thus changes in {@link ConfigSource ConfigSources} which return
+     * {@link ConfigSource.ChangeSupport#UNSUPPORTED} will not be reported.
+     * Implementations must keep the listeners in an index by property name and prefix,
+     * so that a change only needs to look up the listeners registered for the changed property names.
+     *
+     * <p>The listener might get invoked on the thread which reported the change.
+     * It should thus return quickly.
+     * An Exception thrown by a listener must not prevent other listeners from being notified.
+     *
+     * @param keyOrPrefix the property name, a prefix ending with {@code '.'} or an empty String for all property names
+     * @param listener the listener to be notified
+     * @return a {@link ConfigChangeRegistration} which can be used to unregister the listener
+     */
+    ConfigChangeRegistration onChange(String keyOrPrefix, Consumer<ConfigChangeEvent> listener);
+
 
     /**
      * Return all property names used in any of the underlying {@link ConfigSource ConfigSources}.
+     *
+     * Implementations should collect the property names via {@link ConfigSource#forEachProperty(java.util.function.BiConsumer)}
+     * for ConfigSources which override this method, to avoid materializing a {@code Map} per ConfigSource.
+     * For all other ConfigSources the property names must be taken from {@link ConfigSource#getPropertyNames()},
+     * as such a ConfigSource might override it to avoid materializing a {@code Map} as well.
+     * Whether a ConfigSource overrides {@code forEachProperty} can be determined once when the {@code Config} gets built.
+     * Only {@link ConfigSource#isScannable() scannable} ConfigSources contribute to the result.
+     *
      * @return the names of all configured keys of the underlying configuration.
      */
     Iterable<String> getPropertyNames();
 
+    /**
+     * Return all property names which start with the given prefix used in any of the underlying
+     * {@link ConfigSource ConfigSources}.
+     *
+     * The result must be the same as filtering {@link #getPropertyNames()}.
+     * But implementations should maintain a sorted index of the property names and use
+     * {@link ConfigSource#getPropertyNames(String)} to avoid scanning all the property names.
+     * Only {@link ConfigSource#isScannable() scannable} ConfigSources contribute to the result.
+     *
+     * @param prefix the prefix of the property names, e.g. {@code "db."}. An empty prefix matches all property names.
+     * @return the names of all configured keys of the underlying configuration which start with the given prefix.
+     */
+    Iterable<String> getPropertyNames(String prefix);
+
     /**
      * @return all currently registered {@link ConfigSource ConfigSources} sorted by descending ordinal and ConfigSource name
      */
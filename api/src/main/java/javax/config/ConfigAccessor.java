@@ -29,9 +29,13 @@ package javax.config;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 
 import javax.config.spi.Converter;
 
+import org.osgi.annotation.versioning.ProviderType;
+
 
 /**
  * Accessor to a configured value.
@@ -41,10 +45,14 @@ import javax.config.spi.Converter;
  *
  * Accessing the configured value is finally done via {@link #getValue()}
  *
+ * <p>As the property name of a ConfigAccessor is fixed, implementations should resolve it
+ * via a {@link ConfigKey} which gets created once when the ConfigAccessor is built.
+ *
  * @author <a href="mailto:struberg@apache.org">Mark Struberg</a>
  * @author <a href="mailto:gpetracek@apache.org">Gerhard Petracek</a>
  * @author <a href="mailto:tomas.langer@oracle.com">Tomas Langer</a>
  */
+@ProviderType
 public interface ConfigAccessor<T> {
 
     
@@ -89,6 +97,22 @@ public interface ConfigAccessor<T> {
      */
     Optional<T> getOptionalValue();
 
+    /**
+     * Returns the converted resolved filtered value asynchronously.
+     *
+     * Blocking {@link javax.config.spi.ConfigSource ConfigSources} get queried on the executor of the {@link Config}
+     * as described in {@link Config#getValueAsync(String, Class)}.
+     * If the value can be resolved without querying any blocking ConfigSource or if it is cached
+     * then the returned {@link CompletionStage} is already completed.
+     *
+     * @return a {@link CompletionStage} which gets completed with the resolved value.
+     *         It gets completed exceptionally with an {@link IllegalArgumentException} if the property cannot be
+     *         converted to the specified type or with a {@link java.util.NoSuchElementException} if the property
+     *         isn't present in the configuration.
+     * @see #getValue()
+     */
+    CompletionStage<T> getValueAsync();
+
     /**
      * Returns the property name key given in {@link javax.config.Config#access(String, Class)}.
      * @return the original property name
@@ -118,6 +142,153 @@ public interface ConfigAccessor<T> {
      */
     T getDefaultValue();
 
+    /**
+     * Register a listener which gets notified with the converted value whenever the value of this ConfigAccessor changes.
+     *
+     * <p>The listener only gets invoked if the converted value actually differs from the value it got notified with before.
+     * It never gets invoked concurrently. If the value changes multiple times while the listener is still busy
+     * then all the intermediate values get folded together and the listener only gets notified with the latest value afterwards.
+     * Thus a slow listener doesn't get flooded by a {@link javax.config.spi.ConfigSource} which changes its values very often.
+     *
+     * <p>Changes get detected as described in {@link Config#onChange(String, java.util.function.Consumer)}.
+     * The value is {@link Optional#empty()} if the property has been removed and no default value is defined.
+     *
+     * @param listener the listener to be notified with the new value
+     * @return a {@link ConfigChangeRegistration} which can be used to unregister the listener
+     */
+    ConfigChangeRegistration onValueChange(Consumer<Optional<T>> listener);
+
+
+    /**
+     * A {@link ConfigAccessor} specialized for {@code int} values.
+     *
+     * Use this if a value gets read very often as it allows to access the value without boxing.
+     *
+     * @see Builder#buildInt()
+     */
+    @ProviderType
+    interface OfInt extends ConfigAccessor<Integer> {
+
+        /**
+         * Returns the converted resolved filtered value as primitive {@code int}.
+         * @return the resolved value
+         *
+         * @throws IllegalArgumentException if the property cannot be converted to {@code int}.
+         * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+         * @see ConfigAccessor#getValue()
+         */
+        int getIntValue();
+
+        /**
+         * Returns the value from a previously taken {@link ConfigSnapshot} as primitive {@code int}.
+         *
+         * @param configSnapshot previously taken via {@link Config#snapshotFor(ConfigAccessor[])}
+         * @return the resolved value
+         * @throws IllegalArgumentException if the {@link ConfigSnapshot} hasn't been resolved
+         *          for this {@link ConfigAccessor}
+         * @throws java.util.NoSuchElementException if the property isn't present in the snapshot.
+         * @see ConfigAccessor#getValue(ConfigSnapshot)
+         */
+        int getIntValue(ConfigSnapshot configSnapshot);
+    }
+
+    /**
+     * A {@link ConfigAccessor} specialized for {@code long} values.
+     *
+     * Use this if a value gets read very often as it allows to access the value without boxing.
+     *
+     * @see Builder#buildLong()
+     */
+    @ProviderType
+    interface OfLong extends ConfigAccessor<Long> {
+
+        /**
+         * Returns the converted resolved filtered value as primitive {@code long}.
+         * @return the resolved value
+         *
+         * @throws IllegalArgumentException if the property cannot be converted to {@code long}.
+         * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+         * @see ConfigAccessor#getValue()
+         */
+        long getLongValue();
+
+        /**
+         * Returns the value from a previously taken {@link ConfigSnapshot} as primitive {@code long}.
+         *
+         * @param configSnapshot previously taken via {@link Config#snapshotFor(ConfigAccessor[])}
+         * @return the resolved value
+         * @throws IllegalArgumentException if the {@link ConfigSnapshot} hasn't been resolved
+         *          for this {@link ConfigAccessor}
+         * @throws java.util.NoSuchElementException if the property isn't present in the snapshot.
+         * @see ConfigAccessor#getValue(ConfigSnapshot)
+         */
+        long getLongValue(ConfigSnapshot configSnapshot);
+    }
+
+    /**
+     * A {@link ConfigAccessor} specialized for {@code double} values.
+     *
+     * Use this if a value gets read very often as it allows to access the value without boxing.
+     *
+     * @see Builder#buildDouble()
+     */
+    @ProviderType
+    interface OfDouble extends ConfigAccessor<Double> {
+
+        /**
+         * Returns the converted resolved filtered value as primitive {@code double}.
+         * @return the resolved value
+         *
+         * @throws IllegalArgumentException if the property cannot be converted to {@code double}.
+         * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+         * @see ConfigAccessor#getValue()
+         */
+        double getDoubleValue();
+
+        /**
+         * Returns the value from a previously taken {@link ConfigSnapshot} as primitive {@code double}.
+         *
+         * @param configSnapshot previously taken via {@link Config#snapshotFor(ConfigAccessor[])}
+         * @return the resolved value
+         * @throws IllegalArgumentException if the {@link ConfigSnapshot} hasn't been resolved
+         *          for this {@link ConfigAccessor}
+         * @throws java.util.NoSuchElementException if the property isn't present in the snapshot.
+         * @see ConfigAccessor#getValue(ConfigSnapshot)
+         */
+        double getDoubleValue(ConfigSnapshot configSnapshot);
+    }
+
+    /**
+     * A {@link ConfigAccessor} specialized for {@code boolean} values.
+     *
+     * @see Builder#buildBoolean()
+     */
+    @ProviderType
+    interface OfBoolean extends ConfigAccessor<Boolean> {
+
+        /**
+         * Returns the converted resolved filtered value as primitive {@code boolean}.
+         * @return the resolved value
+         *
+         * @throws IllegalArgumentException if the property cannot be converted to {@code boolean}.
+         * @throws java.util.NoSuchElementException if the property isn't present in the configuration.
+         * @see ConfigAccessor#getValue()
+         */
+        boolean getBooleanValue();
+
+        /**
+         * Returns the value from a previously taken {@link ConfigSnapshot} as primitive {@code boolean}.
+         *
+         * @param configSnapshot previously taken via {@link Config#snapshotFor(ConfigAccessor[])}
+         * @return the resolved value
+         * @throws IllegalArgumentException if the {@link ConfigSnapshot} hasn't been resolved
+         *          for this {@link ConfigAccessor}
+         * @throws java.util.NoSuchElementException if the property isn't present in the snapshot.
+         * @see ConfigAccessor#getValue(ConfigSnapshot)
+         */
+        boolean getBooleanValue(ConfigSnapshot configSnapshot);
+    }
+
 
     /**
      * Accessor to a configured value.
@@ -128,6 +299,7 @@ public interface ConfigAccessor<T> {
      * Accessing the configured value is finally done via {@link ConfigAccessor#getValue()}
      *
      */
+    @ProviderType
     interface Builder<T> {
 
 
@@ -162,13 +334,47 @@ public interface ConfigAccessor<T> {
          * Note that that the cache will get flushed if a {@code ConfigSource} notifies
          * the underlying {@link Config} about a value change.
          * This is done by invoking the callback provided to the {@code ConfigSource} via
-         * {@link javax.config.spi.ConfigSource#setAttributeChangeCallback(java.util.function.Consumer)}.
+         * {@link javax.config.spi.ConfigSource#setValueChangeCallback(java.util.function.Consumer)}.
          *
          * @param duration the maximum amount of the time to cache this value.
          * @return This builder
          */
         Builder<T> cacheFor(Duration duration);
 
+        /**
+         * Specify that a cached value gets reloaded in the background before it expires.
+         * If {@link ConfigAccessor#getValue()} gets invoked within the given time before the value
+         * cached via {@link #cacheFor(Duration)} expires, then the cached value will be returned
+         * and the value will get resolved again on the executor of the underlying {@link Config}.
+         * See {@link javax.config.spi.ConfigBuilder#withExecutor(java.util.concurrent.Executor)}.
+         *
+         * <p>This requires {@link #cacheFor(Duration)} with a duration which is longer than the given duration.
+         * Otherwise {@link #build()} throws an {@code IllegalStateException}.
+         *
+         * @param duration the time before the cached value expires in which a reload will be triggered.
+         * @return This builder
+         * @throws IllegalArgumentException if {@code duration} is {@code null}, zero or negative
+         */
+        Builder<T> refreshAhead(Duration duration);
+
+        /**
+         * Whether to serve a value cached via {@link #cacheFor(Duration)} after it expired while it gets resolved again.
+         * If enabled then the first {@link ConfigAccessor#getValue()} after the cached value expired
+         * will return the expired value and trigger the resolution in the background
+         * on the executor of the underlying {@link Config}.
+         * Subsequent calls will return the expired value until the new value got resolved.
+         * Thus no caller has to wait for the resolution of the value.
+         *
+         * <p>Note that a value which got flushed from the cache because a {@code ConfigSource}
+         * reported a change will not be served stale.
+         *
+         * <p>This defaults to {@code false}.
+         *
+         * @param serveStale whether to serve expired values while they get resolved again
+         * @return This builder
+         */
+        Builder<T> serveStaleWhileRevalidate(boolean serveStale);
+
         /**
          * Whether to evaluate variables in configured values.
          * A variable starts with '${' and ends with '}', e.g.
@@ -182,12 +388,40 @@ public interface ConfigAccessor<T> {
          *
          * <p><b>ATTENTION:</b> This defaults to {@code true}! That means variable replacement is enabled by default!</p>
          *
+         * <p>Implementations should not parse a configured value again on each access.
+         * Instead a raw value gets compiled into a template once and the template gets cached per raw value.
+         * The property names referenced by the template form a dependency graph.
+         * If a ConfigSource reports a change of a property name, every cached value which references it,
+         * directly or via other variables, must get invalidated, even if it got cached via {@link #cacheFor(Duration)}.
+         * Cached values which do not reference a changed property name should be kept.
+         *
+         * <p>Variables may be nested, i.e. the value of a referenced property may contain variables again.
+         * Each referenced property name gets resolved only once per evaluation, even if it is referenced multiple times.
+         * If the referenced properties form a cycle, or the nesting exceeds the limit set via {@link #maxVariableDepth(int)},
+         * an {@code IllegalArgumentException} gets thrown which names the involved property names.
+         *
          * @param evaluateVariables whether to evaluate variables in values or not
          *
          * @return This builder
          */
         Builder<T> evaluateVariables(boolean evaluateVariables);
 
+        /**
+         * Set the maximum nesting depth of variables.
+         *
+         * A value which directly references another property has a depth of 1.
+         * If the value of the referenced property contains variables again the depth is 2, and so on.
+         * Evaluating a value which exceeds this depth leads to an {@code IllegalArgumentException}.
+         *
+         * <p>This defaults to {@code 32}.
+         *
+         * @param maxDepth the maximum nesting depth, must be at least 1
+         * @return This builder
+         * @throws IllegalArgumentException if {@code maxDepth} is less than 1
+         * @see #evaluateVariables(boolean)
+         */
+        Builder<T> maxVariableDepth(int maxDepth);
+
         /**
          * The methods {@link Builder#addLookupSuffix(String)}
          * append the given parameters as optional suffixes to the {@link ConfigAccessor#getPropertyName()}.
@@ -222,6 +456,15 @@ public interface ConfigAccessor<T> {
          * Having 3 parameters, we start with binary {@code 111} and count down to zero.
          * The first combination which resolves to a result is being treated as result.
          *
+         * <p>As this leads to up to 2^n candidate property names for n suffixes, the implementation should
+         * compile the candidate property names into a resolution plan once in {@link #build()}.
+         * Candidates which can not be contained in any {@link javax.config.spi.ConfigSource} may get skipped,
+         * e.g. by checking them against an index of the known property names.
+         * Such pruning must only be applied if all ConfigSources are {@link javax.config.spi.ConfigSource#isScannable() scannable}
+         * and the index must be updated whenever a ConfigSource reports a change via its change callback.
+         * The plan is reused until the value of a suffix {@link ConfigAccessor} changes.
+         * The lookup order defined above must not be affected by this.
+         *
          * @param suffixValue fixed String to be used as suffix
          * @return This builder
          */
@@ -238,8 +481,42 @@ public interface ConfigAccessor<T> {
         /**
          * Build a ConfigAccessor
          * @return the configAccessor
+         * @throws IllegalStateException if {@link #refreshAhead(Duration)} got set without {@link #cacheFor(Duration)},
+         *         or if the refresh ahead duration is not shorter than the cache duration
          */
         ConfigAccessor<T> build();
 
+        /**
+         * Build a ConfigAccessor which provides the value as primitive {@code int}.
+         * @return the configAccessor
+         * @throws IllegalStateException if this builder has not been created for {@code int} or {@link Integer}
+         *         or for the same reasons as {@link #build()}
+         */
+        ConfigAccessor.OfInt buildInt();
+
+        /**
+         * Build a ConfigAccessor which provides the value as primitive {@code long}.
+         * @return the configAccessor
+         * @throws IllegalStateException if this builder has not been created for {@code long} or {@link Long}
+         *         or for the same reasons as {@link #build()}
+         */
+        ConfigAccessor.OfLong buildLong();
+
+        /**
+         * Build a ConfigAccessor which provides the value as primitive {@code double}.
+         * @return the configAccessor
+         * @throws IllegalStateException if this builder has not been created for {@code double} or {@link Double}
+         *         or for the same reasons as {@link #build()}
+         */
+        ConfigAccessor.OfDouble buildDouble();
+
+        /**
+         * Build a ConfigAccessor which provides the value as primitive {@code boolean}.
+         * @return the configAccessor
+         * @throws IllegalStateException if this builder has not been created for {@code boolean} or {@link Boolean}
+         *         or for the same reasons as {@link #build()}
+         */
+        ConfigAccessor.OfBoolean buildBoolean();
+
     }
 }
@@ -0,0 +1,46 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *******************************************************************************/
+
+package javax.config;
+
+import java.util.Set;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Informs a listener registered via {@link Config#onChange(String, java.util.function.Consumer)}
+ * about changed configuration values.
+ *
+ * @see Config#onChange(String, java.util.function.Consumer)
+ */
+@ProviderType
+public interface ConfigChangeEvent {
+
+    /**
+     * @return the names of the changed properties which match the key or prefix the listener got registered for
+     */
+    Set<String> getPropertyNames();
+
+    /**
+     * @return the {@link Config#getGeneration() generation} of the {@link Config} after the change got applied
+     */
+    long getGeneration();
+}
@@ -0,0 +1,41 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *******************************************************************************/
+
+package javax.config;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Handle for a change listener registered via {@link Config#onChange(String, java.util.function.Consumer)}.
+ *
+ * @see Config#onChange(String, java.util.function.Consumer)
+ */
+@ProviderType
+public interface ConfigChangeRegistration {
+
+    /**
+     * Remove the change listener.
+     *
+     * After this method returned the listener will not get invoked for any subsequent change.
+     * Invoking this method multiple times has no further effect.
+     */
+    void unregister();
+}
@@ -0,0 +1,54 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *******************************************************************************/
+
+package javax.config;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * A precompiled handle for a property name.
+ *
+ * <p>A {@code ConfigKey} gets created once via {@link Config#key(String)} and can then be used
+ * for repeated lookups of the same property name via {@link Config#getValue(ConfigKey, Class)}
+ * and {@link Config#getOptionalValue(ConfigKey, Class)}.
+ * The implementation of a {@code ConfigKey} is provided by the {@link Config} implementation.
+ * It typically carries a precomputed hash of the property name and an implementation private
+ * resolution state which avoids searching for the property name over and over again.
+ *
+ * <pre>
+ * private final ConfigKey portKey = config.key("myapp.port");
+ * ...
+ * Integer port = config.getValue(portKey, Integer.class);
+ * </pre>
+ *
+ * <p>Two {@code ConfigKey ConfigKeys} are equal if their property names are equal.
+ * A {@code ConfigKey} must only be used with the {@link Config} which created it.
+ *
+ * @see Config#key(String)
+ */
+@ProviderType
+public interface ConfigKey {
+
+    /**
+     * @return the property name this key has been created for
+     */
+    String getPropertyName();
+}
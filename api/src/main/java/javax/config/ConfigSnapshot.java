@@ -26,9 +26,17 @@
 
 package javax.config;
 
+import org.osgi.annotation.versioning.ProviderType;
+
 /**
  * A value holder for ConfigAccessor values which all got resolved in a guaranteed atomic way.
  *
+ * <p>Each {@code ConfigSnapshot} carries a version.
+ * The version of snapshots taken from the same {@link Config} is monotonically increasing.
+ * This allows implementations to share all unchanged values with the previously taken snapshot,
+ * e.g. by using a persistent map structure.
+ * Taking a new snapshot then only costs as much as the number of changed values.
+ *
  * @see Config#snapshotFor(ConfigAccessor...)
  * @see ConfigAccessor#getValue(ConfigSnapshot)
  *
@@ -38,5 +46,16 @@ package javax.config;
  * @author <a href="mailto:gpetracek@apache.org">Gerhard Petracek</a>
  * @author <a href="mailto:rmannibucau@apache.org">Romain Manni-Bucau</a>
  */
+@ProviderType
 public interface ConfigSnapshot {
+
+    /**
+     * Returns the version of this snapshot.
+     *
+     * <p>A snapshot taken later from the same {@link Config} never has a lower version than a snapshot taken before.
+     * If any of the resolved values differs from the previously taken snapshot then the version must be higher.
+     *
+     * @return the version of this snapshot
+     */
+    long getVersion();
 }
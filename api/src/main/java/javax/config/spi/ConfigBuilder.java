@@ -28,8 +28,13 @@
  *******************************************************************************/
 package javax.config.spi;
 
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
 import javax.config.Config;
 
+import org.osgi.annotation.versioning.ProviderType;
+
 /**
  * Builder for manually creating an instance of a {@code Config}.
  *
@@ -39,6 +44,7 @@ import javax.config.Config;
  * @author <a href="mailto:struberg@apache.org">Mark Struberg</a>
  * @author <a href="mailto:emijiang@uk.ibm.com">Emily Jiang</a>
  */
+@ProviderType
 public interface ConfigBuilder {
     /**
      * Add the default config sources appearing on the builder's classpath
@@ -109,9 +115,73 @@ public interface ConfigBuilder {
      */
     <T> ConfigBuilder withConverter(Class<T> type, int priority, Converter<T> converter);
 
+    /**
+     * Set the {@link Executor} used to query {@link ConfigSource#isBlocking() blocking} {@link ConfigSource ConfigSources}
+     * when values get resolved asynchronously via {@link Config#getValueAsync(String, Class)}
+     * or {@link javax.config.ConfigAccessor#getValueAsync()}.
+     *
+     * As the tasks block while waiting for e.g. a database or a remote server, the executor should be dedicated
+     * to them, e.g. a cached thread pool or, on Java versions which support virtual threads, an executor which
+     * creates a virtual thread per task.
+     * The {@link java.util.concurrent.ForkJoinPool#commonPool() common pool} must not be used for blocking
+     * ConfigSources, as it would starve the other users of that pool.
+     * If no executor is set, an implementation specific default of this kind will be used.
+     *
+     * @param executor the executor (can not be {@code null})
+     * @return the ConfigBuilder with the executor set
+     */
+    ConfigBuilder withExecutor(Executor executor);
+
+    /**
+     * Set the maximum time a missing value gets cached if any of the {@link ConfigSource ConfigSources}
+     * returns {@link ConfigSource.ChangeSupport#UNSUPPORTED}.
+     *
+     * Such ConfigSources can not report changes, thus a value which got added in the meantime would not be visible
+     * before the time expired. By default the time is {@link Duration#ZERO}, which means that missing values
+     * are not cached at all in this case.
+     *
+     * @param ttl the maximum time a missing value gets cached (can not be {@code null})
+     * @return the ConfigBuilder with the time to live set
+     * @see Config#getMissingValueCacheStatistics()
+     */
+    ConfigBuilder withMissingValueCacheTtl(Duration ttl);
+
+    /**
+     * Enable caching of conversion results.
+     *
+     * Many properties have the same raw values, e.g. {@code "true"} or a common URL.
+     * With a conversion cache, converting the same raw value to the same type with the same {@link Converter}
+     * again only needs a cache lookup. Only the results of {@link Converter#isPure() pure} Converters get cached.
+     * Arrays are mutable, so array values are always returned as new array, although cached elements might be reused.
+     *
+     * <p>The cache must not prevent the Converters and the target types from being garbage collected.
+     * By default no conversion results get cached.
+     *
+     * @param maxSize the maximum number of cached conversion results, must be at least 1
+     * @return the ConfigBuilder with the conversion cache enabled
+     * @throws IllegalArgumentException if {@code maxSize} is less than 1
+     */
+    ConfigBuilder withConversionCache(int maxSize);
+
     /**
      * Build the {@link Config} object.
      *
+     * <p>ConfigSources which return {@link ConfigSource.ChangeSupport#IMMUTABLE} never change their values.
+     * Thus the implementation should merge all {@link ConfigSource#isScannable() scannable} immutable ConfigSources
+     * with {@link ConfigSource#isExactLookup() exact lookups} which are adjacent in the ordinal order into a single
+     * lookup table while building the {@code Config}.
+     * ConfigSources which map property names, like the environment variables ConfigSource, must not be merged.
+     * A lookup then needs only one probe per group of immutable ConfigSources instead of one per ConfigSource.
+     * The precedence of the values must not change by this and {@link Config#getConfigSources()} still returns
+     * the original ConfigSources.
+     *
+     * <p>The {@link Converter Converters} can not change after the {@code Config} got built either.
+     * Thus the implementation should resolve the Converter with the highest priority for each registered type
+     * while building the {@code Config} and keep the winners in a table keyed by the identity of the target type.
+     * A custom Converter for a wrapper type, e.g. {@code Integer}, also applies to the primitive type, e.g. {@code int},
+     * and the table contains these primitive types as well. Arrays get converted with the entry of their component type.
+     * Selecting the Converter for a lookup then needs a single probe and no comparison of priorities.
+     *
      * @return the Config object
      */
     Config build();
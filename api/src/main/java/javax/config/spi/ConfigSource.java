@@ -30,8 +30,12 @@
  *******************************************************************************/
 package javax.config.spi;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -87,6 +91,11 @@ public interface ConfigSource {
     String CONFIG_ORDINAL = "config_ordinal";
     int DEFAULT_ORDINAL = 100;
 
+    /**
+     * The version returned by {@link #getVersion()} for ConfigSources which do not provide a version.
+     */
+    long UNVERSIONED = -1L;
+
     /**
      * Return the properties in this config source.
      *
@@ -108,6 +117,45 @@ public interface ConfigSource {
         return getProperties().keySet();
     }
 
+    /**
+     * Gets all property names known to this config source which start with the given prefix, without evaluating the values.
+     *
+     * The default implementation filters the result of {@link #getPropertyNames()}.
+     * ConfigSource implementations with many properties should replace this with an implementation
+     * which is backed by a sorted index, e.g. via {@link java.util.NavigableSet#subSet(Object, boolean, Object, boolean)}.
+     *
+     * @param prefix the prefix of the property names, e.g. {@code "db."}. An empty prefix matches all property names.
+     * @return the set of property keys known to this config source which start with the given prefix
+     *         if these can be scanned or empty Set
+     * @see #isScannable()
+     */
+    default Set<String> getPropertyNames(String prefix) {
+        Set<String> propertyNames = new HashSet<>();
+        for (String propertyName : getPropertyNames()) {
+            if (propertyName.startsWith(prefix)) {
+                propertyNames.add(propertyName);
+            }
+        }
+        return propertyNames;
+    }
+
+    /**
+     * Pass each property of this config source to the given action, without materializing them in a {@code Map}.
+     *
+     * This gets used by {@link javax.config.Config#getPropertyNames()} to enumerate the properties of ConfigSources
+     * which override this method, other ConfigSources get enumerated via {@link #getPropertyNames()}.
+     * The default implementation iterates over {@link #getProperties()}.
+     * ConfigSource implementations with many properties should replace this with an implementation
+     * which streams the properties directly from the underlying storage.
+     *
+     * @param action the action which gets invoked with the name and the value of each property
+     *               if these can be scanned
+     * @see #isScannable()
+     */
+    default void forEachProperty(BiConsumer<String, String> action) {
+        getProperties().forEach(action);
+    }
+
     /**
      * Return the ordinal for this config source. If a property is specified in multiple config sources, the value
      * in the config source with the highest ordinal takes precedence.
@@ -151,6 +199,30 @@ public interface ConfigSource {
      */
     String getValue(String propertyName);
 
+    /**
+     * Return the values for all the specified properties in this config source.
+     *
+     * <p>This gets used by {@link javax.config.Config#getValues(java.util.Collection, Class)} to resolve
+     * many property names in a single call.
+     * The default implementation just invokes {@link #getValue(String)} for each property name.
+     * Slow ConfigSource implementations, e.g. a ConfigSource reading from a database,
+     * should replace this with an implementation which resolves all the property names in a single request.
+     *
+     * @param propertyNames the property names
+     * @return a Map with the property name as key and the property value as value.
+     *         Property names which are not defined by this config source are not contained in the Map.
+     */
+    default Map<String, String> getValues(Set<String> propertyNames) {
+        Map<String, String> values = new HashMap<>();
+        for (String propertyName : propertyNames) {
+            String value = getValue(propertyName);
+            if (value != null) {
+                values.put(propertyName, value);
+            }
+        }
+        return values;
+    }
+
     /**
      * The name of this config source might be used for logging or analysis of configured values.
      *
@@ -171,9 +243,59 @@ public interface ConfigSource {
         return true;
     }
 
+    /**
+     * Determines if querying this config source might block the calling thread, e.g. because of remote or database access.
+     *
+     * Blocking ConfigSources get queried on the executor of the {@link javax.config.Config} when a value
+     * gets resolved asynchronously via {@link javax.config.Config#getValueAsync(String, Class)}.
+     * All other ConfigSources get queried directly in the calling thread.
+     *
+     * @return {@code true} if this ConfigSource might block the calling thread, {@code false} otherwise.
+     * @see ConfigBuilder#withExecutor(java.util.concurrent.Executor)
+     */
+    default boolean isBlocking() {
+        return false;
+    }
+
+    /**
+     * Determines if {@link #getValue(String)} returns exactly the value which {@link #getProperties()} contains
+     * for the given property name.
+     *
+     * ConfigSources which map the property name before looking it up, like the environment variables ConfigSource
+     * which also finds {@code COM_ACME_SIZE} for {@code com.acme.size}, must return {@code false}.
+     * Only immutable ConfigSources which return {@code true} here might get merged into a single lookup table,
+     * see {@link ConfigBuilder#build()}.
+     *
+     * @return {@code true} if {@code getValue(name)} always equals {@code getProperties().get(name)},
+     *         {@code false} otherwise.
+     */
+    default boolean isExactLookup() {
+        return false;
+    }
+
+    /**
+     * Return the current version of the values of this config source.
+     *
+     * <p>The version must change whenever any value of this config source changes and must be cheap to determine,
+     * e.g. the modification time of a file or the ETag of a remote resource.
+     * A ConfigSource which returns {@link ChangeSupport#UNSUPPORTED} can not report changes via the change callback
+     * passed to {@link #setValueChangeCallback(Consumer)}, so the {@link javax.config.Config} has to query it on each access.
+     * If it provides a version, the {@link javax.config.Config} may instead keep values it resolved
+     * from this config source and query it again only after the version changed.
+     *
+     * <p>The default implementation returns {@link #UNVERSIONED}.
+     *
+     * @return the current version of the values, or {@link #UNVERSIONED} if this config source does not provide a version
+     */
+    default long getVersion() {
+        return UNVERSIONED;
+    }
+
     /**
      * The callback should get invoked if an attribute change got detected inside the ConfigSource.
      *
+     * This method gets invoked via the default implementation of {@link #setValueChangeCallback(Consumer)}.
+     *
      * @param callback will be set by the {@link javax.config.Config} after this
      *                 {@code ConfigSource} got created and before any configured values
      *                 get served.
@@ -186,6 +308,108 @@ public interface ConfigSource {
         return ChangeSupport.UNSUPPORTED;
     }
 
+    /**
+     * The callback should get invoked with the new values if a change got detected inside the ConfigSource.
+     *
+     * <p>Contrary to {@link #setAttributeChangeCallback(Consumer)} the callback can receive the changed values
+     * and the removed property names. Thus the {@link javax.config.Config} can update its caches directly
+     * without querying this ConfigSource again, which avoids additional round trips for remote ConfigSources.
+     *
+     * <p>The {@link javax.config.Config} invokes this method instead of {@link #setAttributeChangeCallback(Consumer)}.
+     * The default implementation delegates to {@link #setAttributeChangeCallback(Consumer)} and passes the reported
+     * property names as {@link ValueChanges#getUnresolvedPropertyNames() unresolved property names}
+     * without looking up any value. The {@link javax.config.Config} then queries their values only when they are needed.
+     * ConfigSources which know the new values when detecting a change should override this method.
+     *
+     * @param callback will be set by the {@link javax.config.Config} after this
+     *                 {@code ConfigSource} got created and before any configured values
+     *                 get served.
+     * @return ChangeSupport informing the {@link javax.config.Config} implementation about support for changes by this source
+     * @see ChangeSupport
+     */
+    default ChangeSupport setValueChangeCallback(Consumer<ValueChanges> callback) {
+        return setAttributeChangeCallback(propertyNames -> callback.accept(ValueChanges.ofUnresolved(propertyNames)));
+    }
+
+    /**
+     * The changes detected inside a ConfigSource.
+     *
+     * @see ConfigSource#setValueChangeCallback(Consumer)
+     */
+    interface ValueChanges {
+
+        /**
+         * @return the new values of all added or changed properties, with the property name as key
+         */
+        Map<String, String> getChangedValues();
+
+        /**
+         * @return the names of all properties which got removed
+         */
+        Set<String> getRemovedPropertyNames();
+
+        /**
+         * Return the names of properties which got added, changed or removed, but whose new values are not known.
+         * The {@link javax.config.Config} has to query them from the {@link ConfigSource} if they are needed.
+         *
+         * <p>The default implementation returns an empty Set.
+         *
+         * @return the names of all changed properties whose new values are not included
+         */
+        default Set<String> getUnresolvedPropertyNames() {
+            return Collections.emptySet();
+        }
+
+        /**
+         * Create a {@code ValueChanges} instance.
+         *
+         * @param changedValues the new values of all added or changed properties
+         * @param removedPropertyNames the names of all removed properties
+         * @return an immutable {@code ValueChanges} instance
+         */
+        static ValueChanges of(Map<String, String> changedValues, Set<String> removedPropertyNames) {
+            Map<String, String> values = Collections.unmodifiableMap(new HashMap<>(changedValues));
+            Set<String> removed = Collections.unmodifiableSet(new HashSet<>(removedPropertyNames));
+            return new ValueChanges() {
+                @Override
+                public Map<String, String> getChangedValues() {
+                    return values;
+                }
+
+                @Override
+                public Set<String> getRemovedPropertyNames() {
+                    return removed;
+                }
+            };
+        }
+
+        /**
+         * Create a {@code ValueChanges} instance which only contains the names of the changed properties.
+         *
+         * @param propertyNames the names of all added, changed or removed properties
+         * @return an immutable {@code ValueChanges} instance
+         */
+        static ValueChanges ofUnresolved(Set<String> propertyNames) {
+            Set<String> unresolved = Collections.unmodifiableSet(new HashSet<>(propertyNames));
+            return new ValueChanges() {
+                @Override
+                public Map<String, String> getChangedValues() {
+                    return Collections.emptyMap();
+                }
+
+                @Override
+                public Set<String> getRemovedPropertyNames() {
+                    return Collections.emptySet();
+                }
+
+                @Override
+                public Set<String> getUnresolvedPropertyNames() {
+                    return unresolved;
+                }
+            };
+        }
+    }
+
     /**
      * What kind of change support this config source has.
      * <p>
@@ -194,13 +418,14 @@ public interface ConfigSource {
     enum ChangeSupport {
         /**
          * Config change is supported, this config source will invoke the callback provided by
-         * {@link ConfigSource#setAttributeChangeCallback(Consumer)}.
+         * {@link ConfigSource#setValueChangeCallback(Consumer)} or {@link ConfigSource#setAttributeChangeCallback(Consumer)}.
          * <p>
          * Example: File based config source that watches the file for changes
          */
         SUPPORTED,
         /**
          * Config change is not supported. Configuration values can change, though this change is not reported back.
+         * If the config source provides a {@link ConfigSource#getVersion() version}, changes can be detected by comparing it.
          * <p>
          * Example: LDAP based config source
          */
@@ -209,6 +434,9 @@ public interface ConfigSource {
          * Configuration values cannot change for the lifetime of this {@link ConfigSource}.
          * <p>
          * Example: Environment variables config source, classpath resource config source
+         * <p>
+         * Adjacent immutable config sources with {@link ConfigSource#isExactLookup() exact lookups} might get merged
+         * into a single lookup table when the {@link javax.config.Config} gets built, see {@link ConfigBuilder#build()}.
          */
         IMMUTABLE
     }
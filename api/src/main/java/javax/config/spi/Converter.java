@@ -74,6 +74,10 @@ package javax.config.spi;
  * And every enum has a generated {@code valueOf(String)} method.
  * They are thus all covered by an implicit converter!
  * <p>If an Implicit Converter cannot convert a value, a {@code java.lang.IllegalArgumentException} is to be thrown.
+ * <p>The methods and constructors of a type never change, so the implementation should search for the Implicit Converter
+ * of a type only once, e.g. in a {@link ClassValue}, and invoke it via a {@link java.lang.invoke.MethodHandle}
+ * instead of reflection. Types without an Implicit Converter should be remembered as well,
+ * still every conversion attempt to such a type must throw an {@code IllegalArgumentException}.
  *
  * <h3>Array Converters</h3>
  *  The implementation must support the Array converter for each built-in converters, implicit converters and custom converters.
@@ -98,6 +102,12 @@ package javax.config.spi;
  *  {@code @Inject @ConfigProperty(name="myPets") Set<String> myPets};
  *  <p>
  *  myPets will be "dog", "cat", "dog,cat"
+ *  <p>
+ *  Elements which contain no escape character get converted via {@link #convert(CharSequence, int, int)}
+ *  directly from the configured value, without creating a substring per element.
+ *  Values for {@code int[]}, {@code long[]}, {@code double[]} and {@code boolean[]} can be converted
+ *  without boxing the elements via {@link PrimitiveArrays}, but only if the built-in Converter is the Converter
+ *  with the highest priority for the component type. {@link PrimitiveArrays} does not use any registered Converter.
  *
  *  <h3>Cleanup</h3>
  *
@@ -119,4 +129,41 @@ public interface Converter<T> {
      * @throws IllegalArgumentException if the value cannot be converted to the specified type.
      */
     T convert(String value);
+
+    /**
+     * Convert a section of the given character sequence to the specified type.
+     *
+     * <p>This gets used to convert the elements of array values, e.g. {@code 1,2,3} as {@code int[]},
+     * without creating a separate {@code String} for each element.
+     * The default implementation creates a {@code String} of the section and invokes {@link #convert(String)}.
+     * The built-in Converters for numeric types, {@code boolean} and enums convert the section directly.
+     * Custom Converters which are used for array values might override this method as well.
+     *
+     * @param value the character sequence which contains the string representation of a property value
+     * @param start the index of the first character of the section, inclusive
+     * @param end the index of the last character of the section, exclusive
+     * @return the converted value or null
+     *
+     * @throws IllegalArgumentException if the section cannot be converted to the specified type.
+     * @throws IndexOutOfBoundsException if {@code start} or {@code end} are not within the bounds of {@code value}
+     *         or {@code start} is greater than {@code end}
+     */
+    default T convert(CharSequence value, int start, int end) {
+        return convert(value.subSequence(start, end).toString());
+    }
+
+    /**
+     * Determines if this Converter is pure, i.e. it always returns an equal result for an equal value,
+     * has no side effects and returns immutable results.
+     *
+     * The results of pure Converters might get cached, see {@link ConfigBuilder#withConversionCache(int)}.
+     * All built-in Converters are pure, as they only create immutable values.
+     * An implicit Converter is only pure if its target type is known to be immutable, e.g. an enum or a {@code java.time} type.
+     * Implicit Converters for any other type, e.g. {@code StringBuilder} or {@code java.util.Date}, are not pure.
+     *
+     * @return {@code true} if the results of this Converter can be cached, {@code false} otherwise.
+     */
+    default boolean isPure() {
+        return false;
+    }
 }
@@ -0,0 +1,345 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *******************************************************************************/
+
+package javax.config.spi;
+
+/**
+ * Converts array values directly into primitive arrays.
+ *
+ * <p>The value gets split by the array delimiter ',' with '\' as escape character,
+ * as described for the array converters in {@link Converter}.
+ * Each element gets converted while the value is tokenized, without creating a {@code String}
+ * or a boxed value per element. Only elements which contain an escape character get unescaped into a {@code String}.
+ * Empty elements are ignored, e.g. {@code "1,,2,"} results in {@code [1, 2]}.
+ *
+ * <p>The elements get converted like the built-in {@link Converter Converters} do, registered Converters are not used.
+ * Thus {@link javax.config.Config} implementations may only use these methods for {@code int[]}, {@code long[]},
+ * {@code double[]} and {@code boolean[]} targets if no custom Converter with a higher priority than the
+ * built-in Converter is registered for the component type. They are also useful for custom Converters.
+ */
+public final class PrimitiveArrays {
+
+    private static final char DELIMITER = ',';
+    private static final char ESCAPE = '\\';
+
+    /**
+     * Powers of ten which are exactly representable as {@code double}.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The maximum number of significant digits which can be converted to a {@code double} exactly.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private PrimitiveArrays() {
+        // utility class
+    }
+
+    /**
+     * Convert an array value to an {@code int[]}.
+     * Each element must be in the format accepted by {@link Integer#parseInt(String)}.
+     *
+     * @param value the configured value, e.g. {@code "1,2,3"}
+     * @return the converted array or {@code null} if the value is {@code null}
+     * @throws IllegalArgumentException if an element can not be converted
+     */
+    public static int[] toIntArray(CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        int[] result = new int[tokenize(value, null)];
+        tokenize(value, (element, start, end, index) -> result[index] = parseInt(element, start, end));
+        return result;
+    }
+
+    /**
+     * Convert an array value to a {@code long[]}.
+     * Each element must be in the format accepted by {@link Long#parseLong(String)}.
+     *
+     * @param value the configured value, e.g. {@code "1,2,3"}
+     * @return the converted array or {@code null} if the value is {@code null}
+     * @throws IllegalArgumentException if an element can not be converted
+     */
+    public static long[] toLongArray(CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        long[] result = new long[tokenize(value, null)];
+        tokenize(value, (element, start, end, index) -> result[index] = parseLong(element, start, end));
+        return result;
+    }
+
+    /**
+     * Convert an array value to a {@code double[]}.
+     * Each element must be in the format accepted by {@link Double#parseDouble(String)}.
+     * Plain decimal numbers with up to 15 significant digits get converted without creating a {@code String}.
+     *
+     * @param value the configured value, e.g. {@code "1.5,2,3e-2"}
+     * @return the converted array or {@code null} if the value is {@code null}
+     * @throws IllegalArgumentException if an element can not be converted
+     */
+    public static double[] toDoubleArray(CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        double[] result = new double[tokenize(value, null)];
+        tokenize(value, (element, start, end, index) -> result[index] = parseDouble(element, start, end));
+        return result;
+    }
+
+    /**
+     * Convert an array value to a {@code boolean[]}.
+     * An element is {@code true} if it is one of (case insensitive)
+     * &quot;true&quot;, &quot;yes&quot;, &quot;Y&quot;, &quot;on&quot;, &quot;1&quot;, otherwise it is {@code false}.
+     *
+     * @param value the configured value, e.g. {@code "true,off,on"}
+     * @return the converted array or {@code null} if the value is {@code null}
+     */
+    public static boolean[] toBooleanArray(CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        boolean[] result = new boolean[tokenize(value, null)];
+        tokenize(value, (element, start, end, index) -> result[index] = parseBoolean(element, start, end));
+        return result;
+    }
+
+    /**
+     * Split the value into its non empty elements.
+     *
+     * @param value the value to split
+     * @param consumer gets invoked for each element, or {@code null} to just count the elements
+     * @return the number of elements
+     */
+    private static int tokenize(CharSequence value, ElementConsumer consumer) {
+        int count = 0;
+        int start = 0;
+        boolean escaped = false;
+        int length = value.length();
+        for (int i = 0; i <= length; i++) {
+            if (i < length) {
+                char c = value.charAt(i);
+                if (c == ESCAPE && i + 1 < length) {
+                    escaped = true;
+                    i++;
+                    continue;
+                }
+                if (c != DELIMITER) {
+                    continue;
+                }
+            }
+
+            int end = Math.min(i, length);
+            if (end > start) {
+                if (consumer != null) {
+                    if (escaped) {
+                        String element = unescape(value, start, end);
+                        consumer.accept(element, 0, element.length(), count);
+                    }
+                    else {
+                        consumer.accept(value, start, end, count);
+                    }
+                }
+                count++;
+            }
+            start = i + 1;
+            escaped = false;
+        }
+        return count;
+    }
+
+    private static String unescape(CharSequence value, int start, int end) {
+        StringBuilder element = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == ESCAPE && i + 1 < end) {
+                c = value.charAt(++i);
+            }
+            element.append(c);
+        }
+        return element.toString();
+    }
+
+    private static int parseInt(CharSequence value, int start, int end) {
+        long result = parseLong(value, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
+        return (int) result;
+    }
+
+    private static long parseLong(CharSequence value, int start, int end) {
+        return parseLong(value, start, end, Long.MIN_VALUE, Long.MAX_VALUE, "long");
+    }
+
+    /**
+     * Parse the digits as negative number to be able to represent the minimum value.
+     */
+    private static long parseLong(CharSequence value, int start, int end, long minValue, long maxValue, String type) {
+        int i = start;
+        boolean negative = false;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        if (i == end) {
+            throw conversionFailed(value, start, end, type);
+        }
+
+        long limit = negative ? minValue : -maxValue;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        while (i < end) {
+            int digit = Character.digit(value.charAt(i++), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                throw conversionFailed(value, start, end, type);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw conversionFailed(value, start, end, type);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Converts plain decimal numbers exactly if both the significant digits and the power of ten
+     * can be represented exactly as {@code double}. All other numbers get converted via {@link Double#parseDouble(String)}.
+     */
+    private static double parseDouble(CharSequence value, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    significantDigits++;
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (fraction) {
+                    exponent--;
+                }
+            }
+            else if (c == '.' && !fraction) {
+                fraction = true;
+            }
+            else {
+                break;
+            }
+        }
+
+        if (i < end && anyDigit && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                negativeExponent = value.charAt(i) == '-';
+                i++;
+            }
+            int explicitExponent = 0;
+            int exponentDigits = 0;
+            for (; i < end && exponentDigits <= 3; i++, exponentDigits++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                explicitExponent = explicitExponent * 10 + (c - '0');
+            }
+            if (exponentDigits == 0 || exponentDigits > 3) {
+                return parseDoubleSlow(value, start, end);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (i < end || !anyDigit || significantDigits > MAX_EXACT_DIGITS) {
+            return parseDoubleSlow(value, start, end);
+        }
+
+        double result;
+        if (mantissa == 0) {
+            result = 0.0d;
+        }
+        else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            result = mantissa * POWERS_OF_TEN[exponent];
+        }
+        else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            result = mantissa / POWERS_OF_TEN[-exponent];
+        }
+        else {
+            return parseDoubleSlow(value, start, end);
+        }
+        return negative ? -result : result;
+    }
+
+    private static double parseDoubleSlow(CharSequence value, int start, int end) {
+        try {
+            return Double.parseDouble(value.subSequence(start, end).toString());
+        }
+        catch (NumberFormatException e) {
+            throw conversionFailed(value, start, end, "double");
+        }
+    }
+
+    private static boolean parseBoolean(CharSequence value, int start, int end) {
+        return equalsIgnoreCase(value, start, end, "true")
+            || equalsIgnoreCase(value, start, end, "yes")
+            || equalsIgnoreCase(value, start, end, "y")
+            || equalsIgnoreCase(value, start, end, "on")
+            || equalsIgnoreCase(value, start, end, "1");
+    }
+
+    private static boolean equalsIgnoreCase(CharSequence value, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(value.charAt(start + i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException conversionFailed(CharSequence value, int start, int end, String type) {
+        return new IllegalArgumentException("Cannot convert '" + value.subSequence(start, end) + "' to " + type);
+    }
+
+    /**
+     * Receives the elements found by {@link #tokenize(CharSequence, ElementConsumer)}.
+     */
+    private interface ElementConsumer {
+        void accept(CharSequence value, int start, int end, int index);
+    }
+}
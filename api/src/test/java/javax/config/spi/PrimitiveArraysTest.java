@@ -0,0 +1,182 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *******************************************************************************/
+
+package javax.config.spi;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PrimitiveArraysTest {
+
+    @Test
+    public void testNullValue() {
+        Assert.assertNull(PrimitiveArrays.toIntArray(null));
+        Assert.assertNull(PrimitiveArrays.toLongArray(null));
+        Assert.assertNull(PrimitiveArrays.toDoubleArray(null));
+        Assert.assertNull(PrimitiveArrays.toBooleanArray(null));
+    }
+
+    @Test
+    public void testIntArray() {
+        Assert.assertEquals(PrimitiveArrays.toIntArray("1,-2,+3,0"), new int[]{1, -2, 3, 0});
+        Assert.assertEquals(PrimitiveArrays.toIntArray(new StringBuilder("1234,9999")), new int[]{1234, 9999});
+    }
+
+    @Test
+    public void testEmptyElements() {
+        Assert.assertEquals(PrimitiveArrays.toIntArray(""), new int[0]);
+        Assert.assertEquals(PrimitiveArrays.toIntArray(",,"), new int[0]);
+        Assert.assertEquals(PrimitiveArrays.toIntArray("1,,2,"), new int[]{1, 2});
+        Assert.assertEquals(PrimitiveArrays.toIntArray(",1"), new int[]{1});
+        Assert.assertEquals(PrimitiveArrays.toBooleanArray(",true,,"), new boolean[]{true});
+    }
+
+    @Test
+    public void testEscapedElements() {
+        Assert.assertEquals(PrimitiveArrays.toIntArray("\\1,2"), new int[]{1, 2});
+        Assert.assertEquals(PrimitiveArrays.toIntArray("1,\\2\\3"), new int[]{1, 23});
+        Assert.assertEquals(PrimitiveArrays.toDoubleArray("1\\.5,2"), new double[]{1.5d, 2d});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testEscapedDelimiterIsPartOfTheElement() {
+        PrimitiveArrays.toIntArray("1\\,2");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testTrailingEscapeCharacter() {
+        PrimitiveArrays.toIntArray("5\\");
+    }
+
+    @Test
+    public void testIntLimits() {
+        Assert.assertEquals(PrimitiveArrays.toIntArray("2147483647,-2147483648"), new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE});
+        assertIntFails("2147483648");
+        assertIntFails("-2147483649");
+        assertIntFails("99999999999");
+    }
+
+    @Test
+    public void testLongLimits() {
+        Assert.assertEquals(PrimitiveArrays.toLongArray("9223372036854775807,-9223372036854775808"),
+            new long[]{Long.MAX_VALUE, Long.MIN_VALUE});
+        assertLongFails("9223372036854775808");
+        assertLongFails("-9223372036854775809");
+        assertLongFails("92233720368547758070");
+    }
+
+    @Test
+    public void testInvalidNumbers() {
+        assertIntFails("-");
+        assertIntFails("+");
+        assertIntFails("1a");
+        assertIntFails(" 1");
+        assertIntFails("1.0");
+        assertLongFails("--1");
+        assertDoubleFails(".");
+        assertDoubleFails("1e");
+        assertDoubleFails("1e+");
+        assertDoubleFails("abc");
+    }
+
+    @Test
+    public void testDoubleSpecialValues() {
+        String[] values = {"0", "-0", "0.0", "-0.0", "1.", ".5", "NaN", "-Infinity", "Infinity", "1e400", "-1e-400",
+            "4.9e-324", "1.7976931348623157e308", "0x1p3", "1d", "2.5f", " 1.5", "1e0022", "123456789012345678"};
+        for (String value : values) {
+            assertDoubleEquals(value);
+        }
+    }
+
+    @Test
+    public void testDoubleRoundingMatchesParseDouble() {
+        Random random = new Random(4711L);
+        for (int i = 0; i < 100000; i++) {
+            assertDoubleEquals(Double.toString(Double.longBitsToDouble(random.nextLong())));
+            assertDoubleEquals(Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+            assertDoubleEquals(randomDecimal(random));
+        }
+    }
+
+    @Test
+    public void testBooleanArray() {
+        Assert.assertEquals(PrimitiveArrays.toBooleanArray("true,off,on,YES,y,1,0,false,17"),
+            new boolean[]{true, false, true, true, true, true, false, false, false});
+    }
+
+    private static String randomDecimal(Random random) {
+        StringBuilder value = new StringBuilder();
+        if (random.nextBoolean()) {
+            value.append('-');
+        }
+        int digits = 1 + random.nextInt(18);
+        int point = random.nextInt(digits + 1);
+        for (int i = 0; i < digits; i++) {
+            if (i == point) {
+                value.append('.');
+            }
+            value.append((char) ('0' + random.nextInt(10)));
+        }
+        if (random.nextBoolean()) {
+            value.append(random.nextBoolean() ? 'e' : 'E').append(random.nextInt(60) - 30);
+        }
+        return value.toString();
+    }
+
+    private static void assertDoubleEquals(String value) {
+        double expected = Double.parseDouble(value);
+        double[] result = PrimitiveArrays.toDoubleArray(value);
+        Assert.assertEquals(result.length, 1, value);
+        Assert.assertEquals(Double.doubleToRawLongBits(result[0]), Double.doubleToRawLongBits(expected), value);
+    }
+
+    private static void assertIntFails(String value) {
+        try {
+            PrimitiveArrays.toIntArray(value);
+            Assert.fail("IllegalArgumentException expected for " + value);
+        }
+        catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    private static void assertLongFails(String value) {
+        try {
+            PrimitiveArrays.toLongArray(value);
+            Assert.fail("IllegalArgumentException expected for " + value);
+        }
+        catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    private static void assertDoubleFails(String value) {
+        try {
+            PrimitiveArrays.toDoubleArray(value);
+            Assert.fail("IllegalArgumentException expected for " + value);
+        }
+        catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,518 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *******************************************************************************/
+
+package javax.config.inject.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.config.inject.ConfigProperty;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which precomputes the {@link ConfigProperty} injection points at compile time.
+ *
+ * <p>For each class containing fields or parameters annotated with {@link ConfigProperty} a class
+ * named {@code <ClassName>_ConfigAccessors} gets generated in the same package.
+ * For nested classes the names of the enclosing classes get prepended, separated by {@code '$'},
+ * e.g. {@code Outer$Inner_ConfigAccessors}.
+ * It contains a static method per injection point which returns a fully configured
+ * {@link javax.config.ConfigAccessor.Builder} for a given {@link javax.config.Config}.
+ * The method for a field has the name of the field. The method for a parameter is named
+ * {@code <method>$<index>$<parameter>}, where {@code <method>} is {@code new} for constructors and
+ * {@code <index>} counts the constructors or the methods with the same name in declaration order,
+ * e.g. {@code new$0$host} for the parameter {@code host} of the first constructor.
+ * As {@code new} is a keyword, the accessor of a constructor parameter can not clash with the one of a method parameter.
+ * Injection points whose type can not be expressed as class literal, e.g. {@code List<String>},
+ * do not get an accessor method but are still contained in the registry.
+ *
+ * <p>Additionally a registry of all injection points gets written to {@value #REGISTRY_LOCATION}.
+ * For each injection point it contains the following entries, where {@code id} identifies the injection point,
+ * e.g. {@code com.acme.MyBean#someUrl}:
+ * <ul>
+ *     <li>{@code id.class} - the binary name of the declaring class</li>
+ *     <li>{@code id.name} - the property name, derived as described in {@link ConfigProperty#name()} if not given</li>
+ *     <li>{@code id.type} - the declared type of the injection point</li>
+ *     <li>{@code id.defaultValue} - the default value, only present if one is given</li>
+ *     <li>{@code id.required} - whether the property must exist, i.e. the injection point is not an
+ *         {@code Optional} and has no default value</li>
+ *     <li>{@code id.accessor} - the generated accessor method as {@code <binary class name>#<method name>},
+ *         only present if one got generated</li>
+ * </ul>
+ *
+ * Implementations can use the registry to validate all injection points during startup without scanning classes
+ * via reflection. Note that the registry only contains the classes of a single compilation.
+ */
+@SupportedAnnotationTypes(ConfigPropertyProcessor.CONFIG_PROPERTY)
+public class ConfigPropertyProcessor extends AbstractProcessor {
+
+    /**
+     * The classpath location of the generated registry of injection points.
+     */
+    public static final String REGISTRY_LOCATION = "META-INF/javaconfig/injection-points.properties";
+
+    /**
+     * The suffix appended to the class name for the generated accessor classes.
+     */
+    public static final String ACCESSOR_SUFFIX = "_ConfigAccessors";
+
+    static final String CONFIG_PROPERTY = "javax.config.inject.ConfigProperty";
+
+    private static final String OPTIONAL = "java.util.Optional";
+    private static final String PROVIDER = "javax.inject.Provider";
+
+    /**
+     * All injection points found during this compilation, sorted by their id.
+     */
+    private final Map<String, InjectionPoint> injectionPoints = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!injectionPoints.isEmpty()) {
+                writeRegistry();
+            }
+            return false;
+        }
+
+        TypeElement configProperty = processingEnv.getElementUtils().getTypeElement(CONFIG_PROPERTY);
+        if (configProperty == null) {
+            return false;
+        }
+
+        Map<TypeElement, List<InjectionPoint>> injectionPointsByClass = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(configProperty)) {
+            InjectionPoint injectionPoint = createInjectionPoint(element);
+            if (injectionPoint != null) {
+                injectionPointsByClass.computeIfAbsent(injectionPoint.declaringClass, k -> new ArrayList<>()).add(injectionPoint);
+                injectionPoints.put(injectionPoint.id, injectionPoint);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<InjectionPoint>> entry : injectionPointsByClass.entrySet()) {
+            writeAccessors(entry.getKey(), entry.getValue());
+        }
+
+        // ConfigProperty is also used by other processors, e.g. for CDI qualifiers
+        return false;
+    }
+
+    /**
+     * @return the injection point or {@code null} if the element is not a field or parameter
+     */
+    private InjectionPoint createInjectionPoint(Element element) {
+        TypeElement declaringClass;
+        String memberName;
+        String id;
+        String injectionPointName = element.getSimpleName().toString();
+
+        if (element.getKind() == ElementKind.FIELD) {
+            declaringClass = (TypeElement) element.getEnclosingElement();
+            memberName = injectionPointName;
+            id = binaryName(declaringClass) + "#" + injectionPointName;
+        }
+        else if (element.getKind() == ElementKind.PARAMETER) {
+            ExecutableElement executable = (ExecutableElement) element.getEnclosingElement();
+            declaringClass = (TypeElement) executable.getEnclosingElement();
+            String executableName = executable.getKind() == ElementKind.CONSTRUCTOR
+                ? "new" : executable.getSimpleName().toString();
+            memberName = executableName + "$" + overloadIndex(declaringClass, executable) + "$" + injectionPointName;
+            id = binaryName(declaringClass) + "#" + executable + "/" + injectionPointName;
+        }
+        else {
+            // e.g. producer methods, nothing to precompute
+            return null;
+        }
+
+        InjectionPoint injectionPoint = new InjectionPoint(element, declaringClass, memberName, id);
+        readConfigProperty(element, injectionPoint);
+
+        if (injectionPoint.name.isEmpty()) {
+            String className = declaringClass.getQualifiedName().toString();
+            if (className.isEmpty()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "The name of the @ConfigProperty must be specified, as the class name can not be determined", element);
+                return null;
+            }
+            injectionPoint.name = className + "." + injectionPointName;
+        }
+
+        analyzeType(injectionPoint);
+        return injectionPoint;
+    }
+
+    /**
+     * @return the index of the executable among all constructors or all methods with the same name
+     *         of the declaring class, in declaration order
+     */
+    private static int overloadIndex(TypeElement declaringClass, ExecutableElement executable) {
+        int index = 0;
+        for (Element member : declaringClass.getEnclosedElements()) {
+            if (member.equals(executable)) {
+                return index;
+            }
+            if (member.getKind() == executable.getKind() && member.getSimpleName().equals(executable.getSimpleName())) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return a description of the field or parameter for error messages, e.g. {@code parameter host of init(java.lang.String)}
+     */
+    private static String describe(Element element) {
+        if (element.getKind() == ElementKind.PARAMETER) {
+            return "parameter " + element.getSimpleName() + " of " + element.getEnclosingElement();
+        }
+        return "field " + element.getSimpleName();
+    }
+
+    private void readConfigProperty(Element element, InjectionPoint injectionPoint) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(CONFIG_PROPERTY)) {
+                continue;
+            }
+
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values
+                = processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : values.entrySet()) {
+                Object attribute = value.getValue().getValue();
+                switch (value.getKey().getSimpleName().toString()) {
+                    case "name":
+                        injectionPoint.name = (String) attribute;
+                        break;
+                    case "defaultValue":
+                        if (!ConfigProperty.UNCONFIGURED_VALUE.equals(attribute)) {
+                            injectionPoint.defaultValue = (String) attribute;
+                        }
+                        break;
+                    case "evaluateVariables":
+                        injectionPoint.evaluateVariables = (Boolean) attribute;
+                        break;
+                    case "cacheFor":
+                        injectionPoint.cacheFor = (Long) attribute;
+                        break;
+                    case "cacheForTimeUnit":
+                        injectionPoint.cacheForTimeUnit = ((VariableElement) attribute).getSimpleName().toString();
+                        break;
+                    default:
+                        // unknown attribute of a newer API version
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine whether the injection point is an {@code Optional} and which class literal
+     * can be used to access the value.
+     */
+    private void analyzeType(InjectionPoint injectionPoint) {
+        TypeMirror valueType = injectionPoint.type;
+        if (valueType.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) valueType;
+            String rawName = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+            if (OPTIONAL.equals(rawName) || PROVIDER.equals(rawName)) {
+                injectionPoint.optional = OPTIONAL.equals(rawName);
+                valueType = declaredType.getTypeArguments().isEmpty() ? null : declaredType.getTypeArguments().get(0);
+            }
+        }
+
+        if (valueType != null) {
+            injectionPoint.classLiteral = classLiteral(valueType);
+            if (injectionPoint.classLiteral != null) {
+                injectionPoint.typeArgument = valueType.getKind().isPrimitive()
+                    ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) valueType).getQualifiedName().toString()
+                    : injectionPoint.classLiteral;
+            }
+        }
+    }
+
+    /**
+     * @return the source representation of the class literal without {@code .class}
+     *         or {@code null} if the type can not be expressed as class literal
+     */
+    private String classLiteral(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.toString();
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            String componentLiteral = classLiteral(((ArrayType) type).getComponentType());
+            return componentLiteral == null ? null : componentLiteral + "[]";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) type;
+            TypeElement typeElement = (TypeElement) declaredType.asElement();
+            if (declaredType.getTypeArguments().isEmpty() && typeElement.getQualifiedName().length() > 0) {
+                return typeElement.getQualifiedName().toString();
+            }
+        }
+        return null;
+    }
+
+    private void writeAccessors(TypeElement declaringClass, List<InjectionPoint> classInjectionPoints) {
+        NestingKind nestingKind = declaringClass.getNestingKind();
+        if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+            return;
+        }
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(declaringClass);
+        String packageName = packageElement.getQualifiedName().toString();
+        String qualifiedName = declaringClass.getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1))
+            .replace('.', '$') + ACCESSOR_SUFFIX;
+        String accessorClassName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+            .append(" * Accessors for the {@code ConfigProperty} injection points of {@code ").append(qualifiedName).append("}.\n")
+            .append(" * Generated by ").append(ConfigPropertyProcessor.class.getName()).append(", do not edit.\n")
+            .append(" */\n")
+            .append("public final class ").append(simpleName).append(" {\n\n")
+            .append("    private ").append(simpleName).append("() {\n")
+            .append("    }\n");
+
+        Map<String, InjectionPoint> methodNames = new HashMap<>();
+        for (InjectionPoint injectionPoint : classInjectionPoints) {
+            if (injectionPoint.classLiteral == null) {
+                continue;
+            }
+
+            String methodName = injectionPoint.memberName;
+            InjectionPoint conflicting = methodNames.putIfAbsent(methodName, injectionPoint);
+            if (conflicting != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "The accessor method name " + methodName + " of " + describe(injectionPoint.element)
+                        + " conflicts with the one of " + describe(conflicting.element), injectionPoint.element);
+                continue;
+            }
+            injectionPoint.accessor = accessorClassName + "#" + methodName;
+
+            source.append("\n    /**\n")
+                .append("     * @param config the Config to access\n")
+                .append("     * @return the ConfigAccessor.Builder for the property {@code ")
+                .append(injectionPoint.name.replace("*/", "*&#47;")).append("}\n")
+                .append("     */\n")
+                .append("    public static javax.config.ConfigAccessor.Builder<").append(injectionPoint.typeArgument).append("> ")
+                .append(methodName).append("(javax.config.Config config) {\n")
+                .append("        return config.access(").append(javaString(injectionPoint.name)).append(", ")
+                .append(injectionPoint.classLiteral).append(".class)");
+            if (injectionPoint.defaultValue != null) {
+                source.append("\n            .withStringDefault(").append(javaString(injectionPoint.defaultValue)).append(")");
+            }
+            if (!injectionPoint.evaluateVariables) {
+                source.append("\n            .evaluateVariables(false)");
+            }
+            if (injectionPoint.cacheFor > 0L) {
+                source.append("\n            .cacheFor(java.time.Duration.of(").append(injectionPoint.cacheFor)
+                    .append("L, java.time.temporal.ChronoUnit.").append(injectionPoint.cacheForTimeUnit).append("))");
+            }
+            source.append(";\n    }\n");
+        }
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(accessorClassName, declaringClass).openWriter()) {
+            writer.write(source.toString());
+        }
+        catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Could not write " + accessorClassName + ": " + e.getMessage(), declaringClass);
+        }
+    }
+
+    private void writeRegistry() {
+        StringBuilder registry = new StringBuilder();
+        registry.append("# ConfigProperty injection points, generated by ").append(ConfigPropertyProcessor.class.getName()).append('\n');
+        for (InjectionPoint injectionPoint : injectionPoints.values()) {
+            appendEntry(registry, injectionPoint.id + ".class", binaryName(injectionPoint.declaringClass));
+            appendEntry(registry, injectionPoint.id + ".name", injectionPoint.name);
+            appendEntry(registry, injectionPoint.id + ".type", injectionPoint.type.toString());
+            if (injectionPoint.defaultValue != null) {
+                appendEntry(registry, injectionPoint.id + ".defaultValue", injectionPoint.defaultValue);
+            }
+            appendEntry(registry, injectionPoint.id + ".required",
+                Boolean.toString(!injectionPoint.optional && injectionPoint.defaultValue == null));
+            if (injectionPoint.accessor != null) {
+                appendEntry(registry, injectionPoint.id + ".accessor", injectionPoint.accessor);
+            }
+        }
+
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", REGISTRY_LOCATION).openWriter()) {
+            writer.write(registry.toString());
+        }
+        catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Could not write " + REGISTRY_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    private String binaryName(TypeElement typeElement) {
+        return processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+    }
+
+    /**
+     * Append a line in the format of {@link java.util.Properties#load(java.io.Reader)}.
+     */
+    private static void appendEntry(StringBuilder registry, String key, String value) {
+        appendEscaped(registry, key, true);
+        registry.append('=');
+        appendEscaped(registry, value, false);
+        registry.append('\n');
+    }
+
+    private static void appendEscaped(StringBuilder target, String text, boolean isKey) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    target.append("\\\\");
+                    break;
+                case '\t':
+                    target.append("\\t");
+                    break;
+                case '\n':
+                    target.append("\\n");
+                    break;
+                case '\r':
+                    target.append("\\r");
+                    break;
+                case '\f':
+                    target.append("\\f");
+                    break;
+                case ' ':
+                    if (isKey || i == 0) {
+                        target.append('\\');
+                    }
+                    target.append(c);
+                    break;
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    target.append('\\').append(c);
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        target.append(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        target.append(c);
+                    }
+            }
+        }
+    }
+
+    private static String javaString(String text) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Information about a single field or parameter annotated with {@link ConfigProperty}.
+     */
+    private static final class InjectionPoint {
+        private final Element element;
+        private final TypeElement declaringClass;
+        private final String memberName;
+        private final String id;
+        private final TypeMirror type;
+
+        private String name = "";
+        private String defaultValue;
+        private boolean evaluateVariables = true;
+        private long cacheFor;
+        private String cacheForTimeUnit = "SECONDS";
+        private boolean optional;
+        private String classLiteral;
+        private String typeArgument;
+        private String accessor;
+
+        private InjectionPoint(Element element, TypeElement declaringClass, String memberName, String id) {
+            this.element = element;
+            this.declaringClass = declaringClass;
+            this.memberName = memberName;
+            this.id = id;
+            this.type = element.asType();
+        }
+    }
+}
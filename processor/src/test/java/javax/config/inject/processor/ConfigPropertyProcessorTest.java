@@ -0,0 +1,309 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *******************************************************************************/
+
+package javax.config.inject.processor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ConfigPropertyProcessorTest {
+
+    private static final String BEAN = String.join("\n",
+        "package com.acme;",
+        "",
+        "import java.util.List;",
+        "import java.util.Optional;",
+        "import javax.config.inject.ConfigProperty;",
+        "",
+        "public class Bean {",
+        "    @ConfigProperty(name = \"acme.url\") String url;",
+        "    @ConfigProperty(name = \"acme.port\", defaultValue = \"8080\") int port;",
+        "    @ConfigProperty(name = \"acme.timeout\") Optional<Long> timeout;",
+        "    @ConfigProperty(name = \"acme.hosts\") List<String> hosts;",
+        "    @ConfigProperty String unnamed;",
+        "",
+        "    public Bean() {",
+        "    }",
+        "",
+        "    public Bean(@ConfigProperty(name = \"acme.host\") String host) {",
+        "    }",
+        "",
+        "    public Bean(@ConfigProperty(name = \"acme.host\") String host, int ignored) {",
+        "    }",
+        "",
+        "    void init(@ConfigProperty(name = \"acme.other\") String host) {",
+        "    }",
+        "",
+        "    public static class Inner {",
+        "        @ConfigProperty(name = \"acme.inner\") String value;",
+        "    }",
+        "}",
+        "");
+
+    private static final String BEAN_INNER = String.join("\n",
+        "package com.acme;",
+        "",
+        "import javax.config.inject.ConfigProperty;",
+        "",
+        "public class Bean_Inner {",
+        "    @ConfigProperty(name = \"acme.toplevel\") String value;",
+        "}",
+        "");
+
+    private static final String USAGE = String.join("\n",
+        "package com.acme;",
+        "",
+        "import java.util.Optional;",
+        "import javax.config.Config;",
+        "import javax.config.ConfigAccessor;",
+        "",
+        "public class Usage {",
+        "    ConfigAccessor.Builder<String> url(Config config) {",
+        "        return Bean_ConfigAccessors.url(config);",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<Integer> port(Config config) {",
+        "        return Bean_ConfigAccessors.port(config);",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<Long> timeout(Config config) {",
+        "        return Bean_ConfigAccessors.timeout(config);",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<String> host(Config config) {",
+        "        return Bean_ConfigAccessors.new$1$host(config);",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<String> hostOfSecondConstructor(Config config) {",
+        "        return Bean_ConfigAccessors.new$2$host(config);",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<String> other(Config config) {",
+        "        return Bean_ConfigAccessors.init$0$host(config);",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<String> inner(Config config) {",
+        "        return Bean$Inner_ConfigAccessors.value(config);",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<String> topLevel(Config config) {",
+        "        return Bean_Inner_ConfigAccessors.value(config);",
+        "    }",
+        "}",
+        "");
+
+    private static final String SERVICE = String.join("\n",
+        "package com.acme;",
+        "",
+        "import javax.config.Config;",
+        "import javax.config.ConfigAccessor;",
+        "import javax.config.inject.ConfigProperty;",
+        "",
+        "public class Service {",
+        "    public Service(@ConfigProperty(name = \"acme.constructor\") String host) {",
+        "    }",
+        "",
+        "    void init(@ConfigProperty(name = \"acme.init\") String host) {",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<String> constructorHost(Config config) {",
+        "        return Service_ConfigAccessors.new$0$host(config);",
+        "    }",
+        "",
+        "    ConfigAccessor.Builder<String> initHost(Config config) {",
+        "        return Service_ConfigAccessors.init$0$host(config);",
+        "    }",
+        "}",
+        "");
+
+    private static final String CONFLICT = String.join("\n",
+        "package com.acme;",
+        "",
+        "import javax.config.inject.ConfigProperty;",
+        "",
+        "public class Conflict {",
+        "    @ConfigProperty(name = \"acme.field\") String init$0$host;",
+        "",
+        "    void init(@ConfigProperty(name = \"acme.init\") String host) {",
+        "    }",
+        "}",
+        "");
+
+    private Path workDirectory;
+
+    @BeforeMethod
+    public void createWorkDirectory() throws IOException {
+        workDirectory = Files.createTempDirectory("config-processor");
+    }
+
+    @AfterMethod
+    public void deleteWorkDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(workDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testGeneratedAccessorsCompile() throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(BEAN, BEAN_INNER, USAGE);
+        Assert.assertEquals(errors, Collections.emptyList());
+
+        Path classes = workDirectory.resolve("classes/com/acme");
+        Assert.assertTrue(Files.exists(classes.resolve("Bean_ConfigAccessors.class")));
+        Assert.assertTrue(Files.exists(classes.resolve("Bean$Inner_ConfigAccessors.class")));
+        Assert.assertTrue(Files.exists(classes.resolve("Bean_Inner_ConfigAccessors.class")));
+
+        String source = new String(Files.readAllBytes(workDirectory.resolve("generated/com/acme/Bean_ConfigAccessors.java")),
+            StandardCharsets.UTF_8);
+        Assert.assertTrue(source.contains("config.access(\"acme.port\", int.class)\n            .withStringDefault(\"8080\")"), source);
+        Assert.assertFalse(source.contains(" hosts("), "List<String> can not be expressed as class literal");
+    }
+
+    @Test
+    public void testRegistry() throws IOException {
+        Assert.assertEquals(compile(BEAN, BEAN_INNER), Collections.emptyList());
+
+        Properties registry = new Properties();
+        try (Reader reader = Files.newBufferedReader(workDirectory.resolve("classes").resolve(ConfigPropertyProcessor.REGISTRY_LOCATION),
+            StandardCharsets.UTF_8)) {
+            registry.load(reader);
+        }
+
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#url.class"), "com.acme.Bean");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#url.name"), "acme.url");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#url.type"), "java.lang.String");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#url.required"), "true");
+        Assert.assertNull(registry.getProperty("com.acme.Bean#url.defaultValue"));
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#url.accessor"), "com.acme.Bean_ConfigAccessors#url");
+
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#port.defaultValue"), "8080");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#port.required"), "false");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#timeout.required"), "false");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#timeout.type"), "java.util.Optional<java.lang.Long>");
+
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#hosts.required"), "true");
+        Assert.assertNull(registry.getProperty("com.acme.Bean#hosts.accessor"));
+
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#unnamed.name"), "com.acme.Bean.unnamed");
+
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#Bean(java.lang.String)/host.name"), "acme.host");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#Bean(java.lang.String)/host.accessor"),
+            "com.acme.Bean_ConfigAccessors#new$1$host");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#Bean(java.lang.String,int)/host.accessor"),
+            "com.acme.Bean_ConfigAccessors#new$2$host");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean#init(java.lang.String)/host.accessor"),
+            "com.acme.Bean_ConfigAccessors#init$0$host");
+
+        Assert.assertEquals(registry.getProperty("com.acme.Bean$Inner#value.class"), "com.acme.Bean$Inner");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean$Inner#value.accessor"), "com.acme.Bean$Inner_ConfigAccessors#value");
+        Assert.assertEquals(registry.getProperty("com.acme.Bean_Inner#value.accessor"), "com.acme.Bean_Inner_ConfigAccessors#value");
+
+        Assert.assertEquals(registry.stringPropertyNames().stream().filter(key -> key.endsWith(".name")).count(), 10L);
+    }
+
+    @Test
+    public void testConstructorAndInitMethodWithSameParameterName() throws IOException {
+        Assert.assertEquals(compile(SERVICE), Collections.emptyList());
+    }
+
+    @Test
+    public void testConflictingAccessorNames() throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(CONFLICT);
+        Assert.assertEquals(errors.size(), 1, errors.toString());
+        String message = errors.get(0).getMessage(Locale.ROOT);
+        Assert.assertTrue(message.contains("init$0$host"), message);
+        Assert.assertTrue(message.contains("field init$0$host"), message);
+        Assert.assertTrue(message.contains("parameter host of init(java.lang.String)"), message);
+    }
+
+    @Test
+    public void testNoInjectionPoints() throws IOException {
+        Assert.assertEquals(compile("package com.acme;\n\npublic class Plain {\n}\n"), Collections.emptyList());
+        Assert.assertFalse(Files.exists(workDirectory.resolve("classes").resolve(ConfigPropertyProcessor.REGISTRY_LOCATION)));
+    }
+
+    /**
+     * Compile the given sources with the {@link ConfigPropertyProcessor}.
+     *
+     * @return all error and warning diagnostics
+     */
+    private List<Diagnostic<? extends JavaFileObject>> compile(String... sources) throws IOException {
+        Path sourceDirectory = Files.createDirectories(workDirectory.resolve("src"));
+        Path generatedDirectory = Files.createDirectories(workDirectory.resolve("generated"));
+        Path classesDirectory = Files.createDirectories(workDirectory.resolve("classes"));
+
+        List<Path> sourceFiles = new ArrayList<>();
+        for (String source : sources) {
+            String packageName = source.substring("package ".length(), source.indexOf(';'));
+            int classStart = source.indexOf("public class ") + "public class ".length();
+            String className = source.substring(classStart, source.indexOf(' ', classStart));
+            Path sourceFile = sourceDirectory.resolve(packageName.replace('.', '/')).resolve(className + ".java");
+            Files.createDirectories(sourceFile.getParent());
+            Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+            sourceFiles.add(sourceFile);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", classesDirectory.toString(),
+                "-s", generatedDirectory.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjectsFromFiles(sourceFiles.stream().map(Path::toFile).collect(Collectors.toList())));
+            task.setProcessors(Collections.singletonList(new ConfigPropertyProcessor()));
+            boolean success = task.call();
+
+            List<Diagnostic<? extends JavaFileObject>> problems = diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR || diagnostic.getKind() == Diagnostic.Kind.WARNING)
+                .collect(Collectors.toList());
+            Assert.assertTrue(success || !problems.isEmpty(), "compilation failed without diagnostics");
+            return problems;
+        }
+    }
+}
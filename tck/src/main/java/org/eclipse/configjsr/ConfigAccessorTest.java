@@ -20,9 +20,19 @@ package org.eclipse.configjsr;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
-
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.config.CacheStatistics;
 import javax.config.Config;
 import javax.config.ConfigAccessor;
+import javax.config.ConfigChangeRegistration;
+import javax.config.ConfigSnapshot;
+import javax.config.spi.ConfigProviderResolver;
 import javax.config.spi.ConfigSource;
 import javax.inject.Inject;
 
@@ -109,6 +119,69 @@ public class ConfigAccessorTest extends Arquillian {
                 "http://${tck.config.variable.baseHost}/endpointOne");
     }
 
+    @Test
+    public void testNestedVariableReplacement() {
+        Assert.assertEquals(config.access("tck.config.variable.nested.first", String.class).build().getValue(),
+                "base/second/first");
+
+        // the same property referenced multiple times is not a cycle
+        Assert.assertEquals(config.access("tck.config.variable.nested.diamond", String.class).build().getValue(),
+                "base/second:base");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testVariableReplacementSelfReference() {
+        config.access("tck.config.variable.cycle.self", String.class).build().getValue();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testVariableReplacementCycle() {
+        config.access("tck.config.variable.cycle.first", String.class).build().getValue();
+    }
+
+    @Test
+    public void testVariableReplacementMaxDepth() {
+        Assert.assertEquals(config.access("tck.config.variable.nested.first", String.class)
+                .maxVariableDepth(2)
+                .build().getValue(),
+            "base/second/first");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testVariableReplacementMaxDepthExceeded() {
+        config.access("tck.config.variable.nested.first", String.class)
+            .maxVariableDepth(1)
+            .build().getValue();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testVariableReplacementInvalidMaxDepth() {
+        config.access("tck.config.variable.nested.first", String.class).maxVariableDepth(0);
+    }
+
+    @Test
+    public void testVariableReplacementDependencyChange() {
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.variable.host", "oldserver");
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.variable.url",
+            "http://${tck.config.test.javaconfig.variable.host}/path");
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.variable.other", "unrelated");
+
+        ConfigAccessor<String> urlCfg = config.access("tck.config.test.javaconfig.variable.url", String.class)
+            .cacheFor(Duration.ofHours(1L))
+            .build();
+        ConfigAccessor<String> otherCfg = config.access("tck.config.test.javaconfig.variable.other", String.class)
+            .cacheFor(Duration.ofHours(1L))
+            .build();
+
+        Assert.assertEquals(urlCfg.getValue(), "http://oldserver/path");
+        Assert.assertEquals(otherCfg.getValue(), "unrelated");
+
+        // a change of the referenced property must invalidate the cached expanded value
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.variable.host", "newserver");
+        Assert.assertEquals(urlCfg.getValue(), "http://newserver/path");
+        Assert.assertEquals(otherCfg.getValue(), "unrelated");
+    }
+
     @Test
     public void testLookupChain() {
         // set the projectstage to 'Production'
@@ -144,6 +217,77 @@ public class ConfigAccessorTest extends Arquillian {
         Assert.assertEquals(cv.getResolvedPropertyName(), "com.foo.myapp.mycorp.Production");
     }
 
+    @Test
+    public void testLookupChainSuffixChange() {
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.lookup.stage", "Development");
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.lookup.url", "default");
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.lookup.url.Development", "dev");
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.lookup.url.Production", "prod");
+
+        ConfigAccessor<String> cv = config.access("tck.config.test.javaconfig.lookup.url", String.class)
+            .addLookupSuffix(config.access("tck.config.test.javaconfig.lookup.stage", String.class).build())
+            .build();
+
+        Assert.assertEquals(cv.getValue(), "dev");
+        Assert.assertEquals(cv.getValue(), "dev");
+
+        // a changed suffix value must lead to a new resolution
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.lookup.stage", "Production");
+        Assert.assertEquals(cv.getValue(), "prod");
+        Assert.assertEquals(cv.getResolvedPropertyName(), "tck.config.test.javaconfig.lookup.url.Production");
+
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.lookup.stage", "Staging");
+        Assert.assertEquals(cv.getValue(), "default");
+        Assert.assertEquals(cv.getResolvedPropertyName(), "tck.config.test.javaconfig.lookup.url");
+    }
+
+    @Test
+    public void testSnapshotVersion() {
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.snapshot.host", "oldserver");
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.snapshot.port", "8080");
+
+        ConfigAccessor<String> hostCfg = config.access("tck.config.test.javaconfig.snapshot.host", String.class).build();
+        ConfigAccessor<Integer> portCfg = config.access("tck.config.test.javaconfig.snapshot.port", Integer.class).build();
+
+        ConfigSnapshot snapshot1 = config.snapshotFor(hostCfg, portCfg);
+        ConfigSnapshot snapshot2 = config.snapshotFor(hostCfg, portCfg);
+        Assert.assertTrue(snapshot2.getVersion() >= snapshot1.getVersion());
+
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.snapshot.port", "8082");
+        ConfigSnapshot snapshot3 = config.snapshotFor(hostCfg, portCfg);
+        Assert.assertTrue(snapshot3.getVersion() > snapshot2.getVersion());
+
+        // unchanged values are the same, changed values must not leak into older snapshots
+        Assert.assertEquals(hostCfg.getValue(snapshot3), "oldserver");
+        Assert.assertEquals(portCfg.getValue(snapshot3), Integer.valueOf(8082));
+        Assert.assertEquals(hostCfg.getValue(snapshot2), "oldserver");
+        Assert.assertEquals(portCfg.getValue(snapshot2), Integer.valueOf(8080));
+    }
+
+    @Test
+    public void testValueChangeListener() throws Exception {
+        String key = "tck.config.test.javaconfig.valuechange.key";
+        ConfigurableConfigSource.configure(config, key, "1");
+
+        ConfigAccessor<Integer> cfga = config.access(key, Integer.class).build();
+        BlockingQueue<Optional<Integer>> values = new LinkedBlockingQueue<>();
+        ConfigChangeRegistration registration = cfga.onValueChange(values::add);
+
+        try {
+            ConfigurableConfigSource.configure(config, key, "2");
+            Assert.assertEquals(values.poll(1, TimeUnit.SECONDS), Optional.of(2));
+
+            // the raw value differs but the converted value stays the same
+            ConfigurableConfigSource.configure(config, key, "02");
+            ConfigurableConfigSource.configure(config, key, "3");
+            Assert.assertEquals(values.poll(1, TimeUnit.SECONDS), Optional.of(3));
+            Assert.assertNull(values.poll(50, TimeUnit.MILLISECONDS));
+        }
+        finally {
+            registration.unregister();
+        }
+    }
+
     @Test
     public void testIntegerConverter() {
         Assert.assertEquals(config.access("tck.config.test.javaconfig.configvalue.integer", Integer.class).build().getValue(),
@@ -232,6 +376,110 @@ public class ConfigAccessorTest extends Arquillian {
         Assert.assertEquals(val.getValue(), "secondvalue");
     }
 
+    @Test
+    public void testCacheForServeStaleWhileRevalidate() throws Exception {
+        String key = "tck.config.test.javaconfig.cachefor.stale.key";
+        System.setProperty(key, "firstvalue");
+        ConfigAccessor<String> val = config.access(key, String.class)
+            .cacheFor(Duration.of(30, ChronoUnit.MILLIS))
+            .serveStaleWhileRevalidate(true)
+            .build();
+        Assert.assertEquals(val.getValue(), "firstvalue");
+
+        System.setProperty(key, "secondvalue");
+        Thread.sleep(60);
+
+        // the value expired, but we still get the old value while it gets resolved in the background
+        Assert.assertEquals(val.getValue(), "firstvalue");
+
+        long end = System.currentTimeMillis() + 1000L;
+        while (!"secondvalue".equals(val.getValue()) && System.currentTimeMillis() < end) {
+            Thread.sleep(5);
+        }
+        Assert.assertEquals(val.getValue(), "secondvalue");
+    }
+
+    @Test
+    public void testCacheForRefreshAhead() throws Exception {
+        String key = "tck.config.test.javaconfig.cachefor.refreshahead.key";
+        System.setProperty(key, "firstvalue");
+        Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        Config cfg = ConfigProviderResolver.instance().getBuilder()
+            .addDefaultSources()
+            .withExecutor(tasks::add)
+            .build();
+
+        try {
+            // the refresh window starts 50 ms after the value got cached and the value expires after 10 minutes
+            ConfigAccessor<String> val = cfg.access(key, String.class)
+                .cacheFor(Duration.ofMinutes(10))
+                .refreshAhead(Duration.ofMinutes(10).minusMillis(50))
+                .build();
+            Assert.assertEquals(val.getValue(), "firstvalue");
+
+            System.setProperty(key, "secondvalue");
+            Thread.sleep(100);
+
+            // within the refresh window the cached value gets returned and a reload gets scheduled on the executor
+            Assert.assertEquals(val.getValue(), "firstvalue");
+            Assert.assertFalse(tasks.isEmpty(), "accessing the value within the refresh window must schedule a reload");
+
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+            Assert.assertEquals(val.getValue(), "secondvalue");
+        }
+        finally {
+            ConfigProviderResolver.instance().releaseConfig(cfg);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRefreshAheadNegativeDuration() {
+        config.access("tck.config.test.javaconfig.cachefor.key", String.class).refreshAhead(Duration.ofMillis(-1));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testRefreshAheadWithoutCacheFor() {
+        config.access("tck.config.test.javaconfig.cachefor.key", String.class)
+            .refreshAhead(Duration.ofSeconds(1))
+            .build();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testRefreshAheadNotShorterThanCacheFor() {
+        config.access("tck.config.test.javaconfig.cachefor.key", String.class)
+            .cacheFor(Duration.ofSeconds(1))
+            .refreshAhead(Duration.ofSeconds(1))
+            .build();
+    }
+
+    @Test
+    public void testMissingValueCache() {
+        String key = "tck.config.test.javaconfig.missingvalue.key";
+        Config cfg = ConfigProviderResolver.instance().getBuilder()
+            .withSources(new ConfigurableConfigSource())
+            .build();
+
+        try {
+            Assert.assertFalse(cfg.getOptionalValue(key, String.class).isPresent());
+            CacheStatistics before = cfg.getMissingValueCacheStatistics();
+
+            Assert.assertFalse(cfg.getOptionalValue(key, String.class).isPresent());
+            Assert.assertFalse(cfg.access(key, String.class).build().getOptionalValue().isPresent());
+            CacheStatistics after = cfg.getMissingValueCacheStatistics();
+            Assert.assertTrue(after.getHitCount() >= before.getHitCount() + 2);
+
+            // the change callback must invalidate the cached missing value
+            ConfigurableConfigSource.configure(cfg, key, "nowPresent");
+            Assert.assertEquals(cfg.getOptionalValue(key, String.class).get(), "nowPresent");
+        }
+        finally {
+            ConfigProviderResolver.instance().releaseConfig(cfg);
+        }
+    }
+
     @Test
     public void testDefaultValue() {
         String key = "tck.config.test.javaconfig.somerandom.default.key";
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.configjsr;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import javax.config.Config;
+import javax.config.inject.ConfigProperty;
+import javax.config.spi.ConfigSource;
+import javax.inject.Inject;
+
+import org.eclipse.configjsr.base.AbstractTest;
+import org.eclipse.configjsr.configsources.ConfigurableConfigSource;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test binding of configuration interfaces via {@link Config#bind(Class, String)}.
+ */
+public class ConfigBindingTest extends Arquillian {
+
+    private @Inject Config config;
+
+    @Deployment
+    public static WebArchive deploy() {
+        JavaArchive testJar = ShrinkWrap
+            .create(JavaArchive.class, "configBindingTest.jar")
+            .addPackage(AbstractTest.class.getPackage())
+            .addClass(ConfigBindingTest.class)
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+            .addAsServiceProvider(ConfigSource.class, ConfigurableConfigSource.class)
+            .as(JavaArchive.class);
+
+        AbstractTest.addFile(testJar, "META-INF/javaconfig.properties");
+
+        WebArchive war = ShrinkWrap
+            .create(WebArchive.class, "configBindingTest.war")
+            .addAsLibrary(testJar);
+        return war;
+    }
+
+    public interface ConfigValues {
+        String key1();
+
+        @ConfigProperty(name = "integer")
+        int integerValue();
+
+        @ConfigProperty(name = "long")
+        Long longValue();
+
+        @ConfigProperty(name = "boolean.true")
+        boolean booleanValue();
+
+        @ConfigProperty(name = "notexisting")
+        Optional<String> optionalValue();
+
+        @ConfigProperty(name = "notexisting", defaultValue = "4711")
+        int defaultValue();
+
+        @ConfigProperty(name = "notexisting")
+        String missingValue();
+
+        default String notBound() {
+            return "default method";
+        }
+    }
+
+    public interface DefaultValueOnly {
+        @ConfigProperty(defaultValue = "fallback")
+        String key1();
+
+        @ConfigProperty(defaultValue = "4711")
+        int notexisting();
+    }
+
+    public interface DynamicValues {
+        String host();
+    }
+
+    public interface InvalidParameter {
+        String host(String defaultHost);
+    }
+
+    public interface InvalidVoid {
+        void host();
+    }
+
+    @Test
+    public void testBind() {
+        ConfigValues values = config.bind(ConfigValues.class, "tck.config.test.javaconfig.configvalue.");
+
+        Assert.assertEquals(values.key1(), "value1");
+        Assert.assertEquals(values.integerValue(), 1234);
+        Assert.assertEquals(values.longValue(), Long.valueOf(1234567890123456L));
+        Assert.assertTrue(values.booleanValue());
+        Assert.assertFalse(values.optionalValue().isPresent());
+        Assert.assertEquals(values.defaultValue(), 4711);
+        Assert.assertEquals(values.notBound(), "default method");
+    }
+
+    @Test
+    public void testBindConfigPropertyWithoutName() {
+        DefaultValueOnly values = config.bind(DefaultValueOnly.class, "tck.config.test.javaconfig.configvalue.");
+
+        Assert.assertEquals(values.key1(), "value1", "An empty ConfigProperty name must fall back to the method name");
+        Assert.assertEquals(values.notexisting(), 4711);
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void testBindMissingValue() {
+        config.bind(ConfigValues.class, "tck.config.test.javaconfig.configvalue.").missingValue();
+    }
+
+    @Test
+    public void testBindDynamicValue() {
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.binding.host", "oldserver");
+        DynamicValues values = config.bind(DynamicValues.class, "tck.config.test.javaconfig.binding.");
+        Assert.assertEquals(values.host(), "oldserver");
+
+        ConfigurableConfigSource.configure(config, "tck.config.test.javaconfig.binding.host", "newserver");
+        Assert.assertEquals(values.host(), "newserver");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindNoInterface() {
+        config.bind(String.class, "tck.config.test.javaconfig.binding.");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindMethodWithParameter() {
+        config.bind(InvalidParameter.class, "tck.config.test.javaconfig.binding.");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindVoidMethod() {
+        config.bind(InvalidVoid.class, "tck.config.test.javaconfig.binding.");
+    }
+}
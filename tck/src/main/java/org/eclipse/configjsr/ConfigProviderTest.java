@@ -23,12 +23,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.config.Config;
+import javax.config.ConfigKey;
 import javax.inject.Inject;
 
 import javax.config.spi.ConfigSource;
@@ -158,4 +161,64 @@ public class ConfigProviderTest extends Arquillian {
 
         Assert.assertTrue(foundKey.get(), "Unable to find property " + configKey);
     }
+
+    @Test
+    public void testGetPropertyNamesWithPrefix() {
+        System.setProperty("tck.config.test.prefix.key1", "value1");
+        System.setProperty("tck.config.test.prefix.key2", "value2");
+        System.setProperty("tck.config.test.prefixed.key3", "value3");
+
+        Set<String> propertyNames = new HashSet<>();
+        config.getPropertyNames("tck.config.test.prefix.").forEach(propertyNames::add);
+
+        Assert.assertTrue(propertyNames.contains("tck.config.test.prefix.key1"));
+        Assert.assertTrue(propertyNames.contains("tck.config.test.prefix.key2"));
+        Assert.assertFalse(propertyNames.contains("tck.config.test.prefixed.key3"));
+        Assert.assertFalse(propertyNames.contains("tck.config.test.javaconfig.properties.key1"));
+
+        Set<String> allPropertyNames = new HashSet<>();
+        config.getPropertyNames().forEach(allPropertyNames::add);
+        for (String propertyName : propertyNames) {
+            Assert.assertTrue(propertyName.startsWith("tck.config.test.prefix."));
+            Assert.assertTrue(allPropertyNames.contains(propertyName));
+        }
+
+        config.getConfigSources().forEach(c -> {
+            for (String propertyName : c.getPropertyNames("tck.config.test.prefix.")) {
+                Assert.assertTrue(c.getPropertyNames().contains(propertyName));
+            }
+        });
+    }
+
+    @Test
+    public void testConfigKey() {
+        ConfigKey key = config.key("tck.config.test.javaconfig.properties.key1");
+        Assert.assertEquals(key.getPropertyName(), "tck.config.test.javaconfig.properties.key1");
+        Assert.assertEquals(key, config.key("tck.config.test.javaconfig.properties.key1"));
+        Assert.assertEquals(key.hashCode(), config.key("tck.config.test.javaconfig.properties.key1").hashCode());
+
+        Assert.assertEquals(config.getValue(key, String.class), "VALue1");
+        Assert.assertEquals(config.getOptionalValue(key, String.class).get(), "VALue1");
+
+        ConfigKey notExisting = config.key("tck.config.test.keydoesnotexist");
+        Assert.assertFalse(config.getOptionalValue(notExisting, String.class).isPresent());
+    }
+
+    @Test
+    public void testConfigKeyDynamicValue() {
+        String configKey = "tck.config.test.systemproperty.configkey.value";
+        ConfigKey key = config.key(configKey);
+
+        System.setProperty(configKey, "firstValue");
+        Assert.assertEquals(config.getValue(key, String.class), "firstValue");
+
+        System.setProperty(configKey, "secondValue");
+        Assert.assertEquals(config.getValue(key, String.class), "secondValue");
+        Assert.assertEquals(config.getValue(key, String.class), config.getValue(configKey, String.class));
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void testNonExistingConfigKeyHandleGet() {
+        config.getValue(config.key("tck.config.test.keydoesnotexist"), String.class);
+    }
 }
@@ -40,9 +40,11 @@ import javax.inject.Inject;
 import org.eclipse.configjsr.base.AbstractTest;
 import org.eclipse.configjsr.configsources.CustomConfigSourceProvider;
 import org.eclipse.configjsr.configsources.CustomDbConfigSource;
+import org.eclipse.configjsr.converters.CountingDuckConverter;
 import org.eclipse.configjsr.converters.Donald;
 import org.eclipse.configjsr.converters.Duck;
 import org.eclipse.configjsr.converters.DuckConverter;
+import org.eclipse.configjsr.converters.SectionCountingDuckConverter;
 import org.eclipse.configjsr.converters.SomeEnumToConvert;
 import org.eclipse.configjsr.converters.UpperCaseDuckConverter;
 import org.jboss.arquillian.container.test.api.Deployment;
@@ -70,7 +72,8 @@ public class ConverterTest extends Arquillian {
                 .create(JavaArchive.class, "converterTest.jar")
                 .addClass(ConverterTest.class)
                 .addPackage(CustomDbConfigSource.class.getPackage())
-                .addClasses(DuckConverter.class, Duck.class, Donald.class, SomeEnumToConvert.class)
+                .addClasses(DuckConverter.class, CountingDuckConverter.class,
+                    SectionCountingDuckConverter.class, Duck.class, Donald.class, SomeEnumToConvert.class)
                 .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
                 .addAsServiceProvider(ConfigSource.class, CustomDbConfigSource.class)
                 .addAsServiceProvider(ConfigSourceProvider.class, CustomConfigSourceProvider.class)
@@ -128,6 +131,110 @@ public class ConverterTest extends Arquillian {
             "The converter with the highest priority (using upper case) must be used.");
     }
 
+    @Test
+    public void testWrapperConverterAppliesToPrimitiveAndArrayTypes() {
+        Config newConfig = ConfigProviderResolver.instance().getBuilder().addDefaultSources()
+            .withConverter(Integer.class, 200, (s) -> Integer.valueOf(s) + 1)
+            .build();
+
+        Assert.assertEquals(newConfig.getValue("tck.config.test.javaconfig.converter.integervalue", Integer.class), Integer.valueOf(1235));
+        Assert.assertEquals(newConfig.getValue("tck.config.test.javaconfig.converter.integervalue", int.class), Integer.valueOf(1235),
+            "The custom Converter for Integer must also be used for int.");
+        Assert.assertEquals(newConfig.getValue("tck.config.test.javaconfig.converter.integervalues", Integer[].class),
+            new Integer[]{1235, 10000});
+        Assert.assertEquals(newConfig.getValue("tck.config.test.javaconfig.converter.integervalues", int[].class),
+            new int[]{1235, 10000});
+
+        ConfigProviderResolver.instance().releaseConfig(newConfig);
+    }
+
+    @Test
+    public void testConversionCacheForPureConverter() {
+        CountingDuckConverter converter = new CountingDuckConverter(true);
+        Config newConfig = ConfigProviderResolver.instance().getBuilder().addDefaultSources()
+            .withConverter(Duck.class, 200, converter)
+            .withConversionCache(100)
+            .build();
+
+        Assert.assertEquals(newConfig.getValue("tck.config.test.javaconfig.converter.duckname", Duck.class).getName(), "Hannelore");
+        Assert.assertEquals(newConfig.getValue("tck.config.test.javaconfig.converter.duckname", Duck.class).getName(), "Hannelore");
+        Assert.assertEquals(converter.getConversionCount(), 1, "The result of a pure Converter must be cached.");
+
+        ConfigProviderResolver.instance().releaseConfig(newConfig);
+    }
+
+    @Test
+    public void testConversionCacheForMutableImplicitType() {
+        Config newConfig = ConfigProviderResolver.instance().getBuilder().addDefaultSources()
+            .withConversionCache(100)
+            .build();
+
+        StringBuilder first = newConfig.getValue("tck.config.test.javaconfig.converter.duckname", StringBuilder.class);
+        StringBuilder second = newConfig.getValue("tck.config.test.javaconfig.converter.duckname", StringBuilder.class);
+        Assert.assertEquals(first.toString(), "Hannelore");
+        Assert.assertEquals(second.toString(), "Hannelore");
+        Assert.assertNotSame(first, second, "The results of an implicit Converter for a mutable type must not be cached.");
+
+        ConfigProviderResolver.instance().releaseConfig(newConfig);
+    }
+
+    @Test
+    public void testConversionCacheForImpureConverter() {
+        CountingDuckConverter converter = new CountingDuckConverter(false);
+        Config newConfig = ConfigProviderResolver.instance().getBuilder().addDefaultSources()
+            .withConverter(Duck.class, 200, converter)
+            .withConversionCache(100)
+            .build();
+
+        Assert.assertEquals(newConfig.getValue("tck.config.test.javaconfig.converter.duckname", Duck.class).getName(), "Hannelore");
+        Assert.assertEquals(newConfig.getValue("tck.config.test.javaconfig.converter.duckname", Duck.class).getName(), "Hannelore");
+        Assert.assertEquals(converter.getConversionCount(), 2, "The result of a Converter which is not pure must not be cached.");
+
+        ConfigProviderResolver.instance().releaseConfig(newConfig);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testConversionCacheInvalidSize() {
+        ConfigProviderResolver.instance().getBuilder().withConversionCache(0);
+    }
+
+    @Test
+    public void testConvertCharSequenceSection() {
+        // the elements of array values get converted from sections of the configured value
+        Assert.assertEquals(config.getValue("tck.config.test.javaconfig.converter.section.integervalues", int[].class),
+            new int[]{1, 22, -333, 4444, 5});
+        Assert.assertEquals(config.getValue("tck.config.test.javaconfig.converter.section.integervalues", Integer[].class),
+            new Integer[]{1, 22, -333, 4444, 5});
+        Assert.assertEquals(config.getValue("tck.config.test.javaconfig.converter.section.booleanvalues", boolean[].class),
+            new boolean[]{true, false, true, true, false});
+        Assert.assertEquals(config.getValue("tck.config.test.javaconfig.converter.section.enumvalues", SomeEnumToConvert[].class),
+            new SomeEnumToConvert[]{SomeEnumToConvert.BAZ, SomeEnumToConvert.FOO, SomeEnumToConvert.BAR});
+    }
+
+    @Test
+    public void testConvertCharSequenceSectionWithCustomConverter() {
+        SectionCountingDuckConverter converter = new SectionCountingDuckConverter();
+        Config newConfig = ConfigProviderResolver.instance().getBuilder().addDefaultSources()
+            .withConverter(Duck.class, 200, converter)
+            .build();
+
+        Duck[] ducks = newConfig.getValue("tck.config.test.javaconfig.converter.section.duckvalues", Duck[].class);
+        Assert.assertEquals(ducks.length, 3);
+        Assert.assertEquals(ducks[0].getName(), "Hannelore");
+        Assert.assertEquals(ducks[1].getName(), "Dagobert");
+        Assert.assertEquals(ducks[2].getName(), "Donald");
+        Assert.assertEquals(converter.getSectionConversionCount(), 3,
+            "Array elements without escape characters must be converted via convert(CharSequence, int, int).");
+        Assert.assertEquals(converter.getConversionCount(), 0);
+
+        ConfigProviderResolver.instance().releaseConfig(newConfig);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testConvertCharSequenceSection_Broken() {
+        config.getValue("tck.config.test.javaconfig.converter.section.integervalues.broken", int[].class);
+    }
+
     @Test
     public void testEnum() {
         SomeEnumToConvert value = config.getValue("tck.config.test.javaconfig.converter.implicit.enumvalue", SomeEnumToConvert.class);
@@ -19,14 +19,33 @@
  */
 package org.eclipse.configjsr;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.config.spi.ConfigProviderResolver;
 import javax.inject.Inject;
 
 import javax.config.Config;
+import javax.config.ConfigAccessor;
 import javax.config.spi.ConfigSource;
 import javax.config.spi.ConfigSourceProvider;
+import org.eclipse.configjsr.configsources.ConfigurableConfigSource;
 import org.eclipse.configjsr.configsources.CustomConfigSourceProvider;
 import org.eclipse.configjsr.configsources.CustomDbConfigSource;
+import org.eclipse.configjsr.configsources.ImmutableConfigSource;
+import org.eclipse.configjsr.configsources.MappedImmutableConfigSource;
+import org.eclipse.configjsr.configsources.PropertyNamesOnlyConfigSource;
+import org.eclipse.configjsr.configsources.VersionedConfigSource;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.testng.Arquillian;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -50,7 +69,9 @@ public class CustomConfigSourceTest extends Arquillian {
     public static WebArchive deploy() {
         JavaArchive testJar = ShrinkWrap
                 .create(JavaArchive.class, "customConfigSourceTest.jar")
-                .addClasses(CustomConfigSourceTest.class, CustomDbConfigSource.class, CustomConfigSourceProvider.class)
+                .addClasses(CustomConfigSourceTest.class, CustomDbConfigSource.class, CustomConfigSourceProvider.class,
+                    ConfigurableConfigSource.class, ImmutableConfigSource.class, MappedImmutableConfigSource.class,
+                    VersionedConfigSource.class, PropertyNamesOnlyConfigSource.class)
                 .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
                 .addAsServiceProvider(ConfigSource.class, CustomDbConfigSource.class)
                 .addAsServiceProvider(ConfigSourceProvider.class, CustomConfigSourceProvider.class)
@@ -70,6 +91,234 @@ public class CustomConfigSourceTest extends Arquillian {
         assertEquals(config.getValue("tck.config.test.customDbConfig.key1", String.class), "valueFromDb1");
     }
 
+    @Test
+    public void testGetValues() {
+        Map<String, String> values = config.getValues(Arrays.asList("tck.config.test.customDbConfig.key1",
+            "tck.config.test.customDbConfig.key2", "tck.config.test.javaconfig.properties.key1",
+            "tck.config.test.customDbConfig.notexisting"), String.class);
+
+        assertEquals(values.size(), 3);
+        assertEquals(values.get("tck.config.test.customDbConfig.key1"), "valueFromDb1");
+        assertEquals(values.get("tck.config.test.customDbConfig.key2"), "valueFromDb2");
+        assertEquals(values.get("tck.config.test.javaconfig.properties.key1"), "VALue1");
+        Assert.assertFalse(values.containsKey("tck.config.test.customDbConfig.notexisting"));
+    }
+
+    @Test
+    public void testConfigSourceGetValues() {
+        CustomDbConfigSource customDbConfigSource = new CustomDbConfigSource();
+        Config cfg = ConfigProviderResolver.instance().getBuilder()
+            .withSources(customDbConfigSource)
+            .build();
+
+        Map<String, String> values = cfg.getValues(Arrays.asList("tck.config.test.customDbConfig.key1",
+            "tck.config.test.customDbConfig.key3", "tck.config.test.customDbConfig.notexisting"), String.class);
+
+        assertEquals(values.size(), 2);
+        assertEquals(values.get("tck.config.test.customDbConfig.key1"), "valueFromDb1");
+        assertEquals(values.get("tck.config.test.customDbConfig.key3"), "big:cheese");
+        assertEquals(customDbConfigSource.getBulkReadCounter(), 1, "all values must be read from the ConfigSource in a single request");
+        assertEquals(customDbConfigSource.getSingleReadCounter(), 0, "no value must be read from the ConfigSource one by one");
+
+        ConfigProviderResolver.instance().releaseConfig(cfg);
+    }
+
+    @Test
+    public void testForEachProperty() {
+        CustomDbConfigSource customDbConfigSource = new CustomDbConfigSource();
+        Config cfg = ConfigProviderResolver.instance().getBuilder()
+            .withSources(customDbConfigSource)
+            .build();
+
+        Set<String> propertyNames = new HashSet<>();
+        cfg.getPropertyNames().forEach(propertyNames::add);
+        Assert.assertTrue(propertyNames.containsAll(Arrays.asList("tck.config.test.customDbConfig.key1",
+            "tck.config.test.customDbConfig.key2", "tck.config.test.customDbConfig.key3")));
+        assertEquals(customDbConfigSource.getAllReadCounter(), 0,
+            "the property names must be read via forEachProperty instead of getProperties");
+
+        ConfigProviderResolver.instance().releaseConfig(cfg);
+    }
+
+    @Test
+    public void testPropertyNamesOfConfigSourceWithoutForEachProperty() {
+        PropertyNamesOnlyConfigSource configSource = new PropertyNamesOnlyConfigSource(
+            "tck.config.test.namesonly.key1", "tck.config.test.namesonly.key2");
+        Config cfg = ConfigProviderResolver.instance().getBuilder()
+            .withSources(configSource)
+            .build();
+
+        Set<String> propertyNames = new HashSet<>();
+        cfg.getPropertyNames().forEach(propertyNames::add);
+        assertEquals(propertyNames, new HashSet<>(Arrays.asList("tck.config.test.namesonly.key1", "tck.config.test.namesonly.key2")));
+        assertEquals(configSource.getMaterializationCount(), 0,
+            "The property names of a ConfigSource which does not override forEachProperty must be taken from getPropertyNames()");
+
+        ConfigProviderResolver.instance().releaseConfig(cfg);
+    }
+
+    @Test
+    public void testGetValueAsync() throws Exception {
+        assertEquals(config.getValueAsync("tck.config.test.customDbConfig.key1", String.class)
+            .toCompletableFuture().get(1, TimeUnit.SECONDS), "valueFromDb1");
+        assertEquals(config.access("tck.config.test.customDbConfig.key2", String.class).build().getValueAsync()
+            .toCompletableFuture().get(1, TimeUnit.SECONDS), "valueFromDb2");
+    }
+
+    @Test
+    public void testGetValueAsyncNotExisting() throws Exception {
+        CompletionStage<String> value = config.getValueAsync("tck.config.test.customDbConfig.notexisting", String.class);
+        try {
+            value.toCompletableFuture().get(1, TimeUnit.SECONDS);
+            Assert.fail("NoSuchElementException expected");
+        }
+        catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof NoSuchElementException);
+        }
+    }
+
+    @Test
+    public void testGetValueAsyncUsesExecutorForBlockingConfigSource() throws Exception {
+        AtomicInteger executions = new AtomicInteger(0);
+        Executor executor = command -> {
+            executions.incrementAndGet();
+            new Thread(command).start();
+        };
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+            .addDefaultSources()
+            .withSources(new CustomDbConfigSource())
+            .withExecutor(executor)
+            .build();
+
+        // a value from a non-blocking ConfigSource gets resolved directly
+        System.setProperty("tck.config.test.async.systemproperty", "fromSystemProperty");
+        CompletionStage<String> fastValue = config.getValueAsync("tck.config.test.async.systemproperty", String.class);
+        Assert.assertTrue(fastValue.toCompletableFuture().isDone());
+        assertEquals(fastValue.toCompletableFuture().get(), "fromSystemProperty");
+        assertEquals(executions.get(), 0);
+
+        // the CustomDbConfigSource is blocking and must get queried on the executor
+        assertEquals(config.getValueAsync("tck.config.test.customDbConfig.key1", String.class)
+            .toCompletableFuture().get(1, TimeUnit.SECONDS), "valueFromDb1");
+        Assert.assertTrue(executions.get() > 0);
+
+        ConfigProviderResolver.instance().releaseConfig(config);
+    }
+
+    @Test
+    public void testImmutableConfigSourcesOrdering() {
+        Map<String, String> highValues = new HashMap<>();
+        highValues.put("tck.config.test.immutable.shared", "high");
+        Map<String, String> middleValues = new HashMap<>();
+        middleValues.put("tck.config.test.immutable.shared", "middle");
+        middleValues.put("tck.config.test.immutable.middle", "middle");
+        Map<String, String> lowValues = new HashMap<>();
+        lowValues.put("tck.config.test.immutable.middle", "low");
+        lowValues.put("tck.config.test.immutable.low", "low");
+
+        ConfigSource high = new ImmutableConfigSource("immutableHigh", 300, highValues);
+        ConfigSource middle = new ImmutableConfigSource("immutableMiddle", 200, middleValues);
+        ConfigSource dynamic = new ConfigurableConfigSource();
+        ConfigSource low = new ImmutableConfigSource("immutableLow", 100, lowValues);
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+            .withSources(low, dynamic, middle, high)
+            .build();
+
+        // even if immutable ConfigSources get merged, the ordinals must be respected
+        assertEquals(config.getValue("tck.config.test.immutable.shared", String.class), "high");
+        assertEquals(config.getValue("tck.config.test.immutable.middle", String.class), "middle");
+        assertEquals(config.getValue("tck.config.test.immutable.low", String.class), "low");
+
+        // the dynamic ConfigSource with ordinal 110 is located between the immutable ones
+        ConfigurableConfigSource.configure(config, "tck.config.test.immutable.middle", "dynamic");
+        ConfigurableConfigSource.configure(config, "tck.config.test.immutable.low", "dynamic");
+        assertEquals(config.getValue("tck.config.test.immutable.middle", String.class), "middle");
+        assertEquals(config.getValue("tck.config.test.immutable.low", String.class), "dynamic");
+
+        // getConfigSources still returns the original ConfigSources
+        Iterator<ConfigSource> configSources = config.getConfigSources().iterator();
+        Assert.assertSame(configSources.next(), high);
+        Assert.assertSame(configSources.next(), middle);
+        Assert.assertSame(configSources.next(), dynamic);
+        Assert.assertSame(configSources.next(), low);
+        Assert.assertFalse(configSources.hasNext());
+
+        ConfigProviderResolver.instance().releaseConfig(config);
+    }
+
+    @Test
+    public void testImmutableConfigSourceWithMappedNames() {
+        Map<String, String> highValues = new HashMap<>();
+        highValues.put("tck.config.test.immutable.high", "high");
+        Map<String, String> mappedValues = new HashMap<>();
+        mappedValues.put("TCK_CONFIG_TEST_IMMUTABLE_MAPPED", "mapped");
+        mappedValues.put("tck_config_test_immutable_lowercase", "mapped");
+        Map<String, String> lowValues = new HashMap<>();
+        lowValues.put("tck.config.test.immutable.mapped", "low");
+        lowValues.put("tck.config.test.immutable.lowercase", "low");
+
+        ConfigSource high = new ImmutableConfigSource("immutableHigh", 300, highValues);
+        ConfigSource mapped = new MappedImmutableConfigSource("immutableMapped", 200, mappedValues);
+        ConfigSource low = new ImmutableConfigSource("immutableLow", 100, lowValues);
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+            .withSources(low, mapped, high)
+            .build();
+
+        // the mapped ConfigSource must not get merged with its immutable neighbours, as it maps the property names
+        assertEquals(config.getValue("tck.config.test.immutable.mapped", String.class), "mapped");
+        assertEquals(config.getValue("tck.config.test.immutable.lowercase", String.class), "mapped");
+        assertEquals(config.getValue("tck.config.test.immutable.high", String.class), "high");
+
+        ConfigProviderResolver.instance().releaseConfig(config);
+    }
+
+    @Test
+    public void testVersionedConfigSource() {
+        VersionedConfigSource versionedConfigSource = new VersionedConfigSource();
+        versionedConfigSource.setValue("tck.config.test.versioned.key1", "value1");
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+            .withSources(versionedConfigSource)
+            .build();
+
+        ConfigAccessor<String> accessor = config.access("tck.config.test.versioned.key1", String.class).build();
+        assertEquals(accessor.getValue(), "value1");
+        Assert.assertFalse(config.getOptionalValue("tck.config.test.versioned.key2", String.class).isPresent());
+
+        // changes must get picked up once the version moved
+        versionedConfigSource.setValue("tck.config.test.versioned.key1", "value2");
+        versionedConfigSource.setValue("tck.config.test.versioned.key2", "value2");
+        assertEquals(accessor.getValue(), "value2");
+        assertEquals(config.getValue("tck.config.test.versioned.key2", String.class), "value2");
+
+        ConfigProviderResolver.instance().releaseConfig(config);
+    }
+
+    @Test
+    public void testUnversionedConfigSource() {
+        VersionedConfigSource unversionedConfigSource = new VersionedConfigSource(false);
+        unversionedConfigSource.setValue("tck.config.test.unversioned.key1", "value1");
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+            .withSources(unversionedConfigSource)
+            .build();
+
+        ConfigAccessor<String> accessor = config.access("tck.config.test.unversioned.key1", String.class).build();
+        assertEquals(accessor.getValue(), "value1");
+        Assert.assertFalse(config.getOptionalValue("tck.config.test.unversioned.key2", String.class).isPresent());
+
+        // without a version and without a change callback the values must not be kept by the Config
+        unversionedConfigSource.setValue("tck.config.test.unversioned.key1", "value2");
+        unversionedConfigSource.setValue("tck.config.test.unversioned.key2", "value2");
+        assertEquals(accessor.getValue(), "value2");
+        assertEquals(config.getValue("tck.config.test.unversioned.key2", String.class), "value2");
+
+        ConfigProviderResolver.instance().releaseConfig(config);
+    }
+
     @Test
     public void testConfigSourceAutoClose() {
         CustomDbConfigSource customDbConfigSource = new CustomDbConfigSource();
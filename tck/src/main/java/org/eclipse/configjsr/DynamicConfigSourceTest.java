@@ -23,13 +23,22 @@ import static org.testng.Assert.assertTrue;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.config.Config;
 import javax.config.ConfigAccessor;
+import javax.config.ConfigChangeRegistration;
+import javax.config.spi.ConfigProviderResolver;
 import javax.config.spi.ConfigSource;
 import javax.inject.Inject;
 
+import org.eclipse.configjsr.dynamic.DeltaChangeConfigSource;
 import org.eclipse.configjsr.dynamic.DynamicChangeConfigSource;
+import org.eclipse.configjsr.dynamic.NameOnlyChangeConfigSource;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.testng.Arquillian;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -52,7 +61,7 @@ public class DynamicConfigSourceTest extends Arquillian {
     public static WebArchive deploy() {
         JavaArchive testJar = ShrinkWrap
                 .create(JavaArchive.class, "dynamicValuesTest.jar")
-                .addClass(DynamicConfigSourceTest.class)
+                .addClasses(DynamicConfigSourceTest.class, DeltaChangeConfigSource.class, NameOnlyChangeConfigSource.class)
                 .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
                 .addAsServiceProvider(ConfigSource.class, DynamicChangeConfigSource.class)
                 .as(JavaArchive.class);
@@ -73,6 +82,156 @@ public class DynamicConfigSourceTest extends Arquillian {
         assertTrue(value2 > value);
     }
 
+    @Test
+    public void testGenerationAdvances() throws Exception {
+        long generation = config.getGeneration();
+        Thread.sleep(25L);
+        long generation2 = config.getGeneration();
+        assertTrue(generation2 > generation, "the DynamicChangeConfigSource reports a change every 10 ms");
+        assertTrue(config.getGeneration() >= generation2);
+    }
+
+    @Test
+    public void testChangeListener() throws Exception {
+        CountDownLatch keyLatch = new CountDownLatch(2);
+        CountDownLatch prefixLatch = new CountDownLatch(2);
+        AtomicInteger otherCount = new AtomicInteger(0);
+
+        ConfigChangeRegistration keyRegistration = config.onChange(DynamicChangeConfigSource.TEST_ATTRIBUTE, event -> {
+            assertTrue(event.getPropertyNames().contains(DynamicChangeConfigSource.TEST_ATTRIBUTE));
+            keyLatch.countDown();
+        });
+        ConfigChangeRegistration prefixRegistration = config.onChange("tck.config.test.javaconfig.dynymic.",
+            event -> prefixLatch.countDown());
+        ConfigChangeRegistration otherRegistration = config.onChange("tck.config.test.javaconfig.other.",
+            event -> otherCount.incrementAndGet());
+
+        try {
+            assertTrue(keyLatch.await(1, TimeUnit.SECONDS), "listener for the key did not get notified");
+            assertTrue(prefixLatch.await(1, TimeUnit.SECONDS), "listener for the prefix did not get notified");
+            Assert.assertEquals(otherCount.get(), 0, "listener for an unrelated prefix must not get notified");
+        }
+        finally {
+            keyRegistration.unregister();
+            prefixRegistration.unregister();
+            otherRegistration.unregister();
+        }
+    }
+
+    @Test
+    public void testChangeListenerForAllPropertyNames() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+
+        ConfigChangeRegistration registration = config.onChange("", event -> {
+            if (event.getPropertyNames().contains(DynamicChangeConfigSource.TEST_ATTRIBUTE)) {
+                latch.countDown();
+            }
+        });
+
+        try {
+            assertTrue(latch.await(1, TimeUnit.SECONDS), "listener for an empty prefix did not get notified");
+        }
+        finally {
+            registration.unregister();
+        }
+    }
+
+    @Test
+    public void testChangeListenerUnregister() throws Exception {
+        AtomicInteger count = new AtomicInteger(0);
+        ConfigChangeRegistration registration = config.onChange(DynamicChangeConfigSource.TEST_ATTRIBUTE,
+            event -> count.incrementAndGet());
+
+        Thread.sleep(50L);
+        registration.unregister();
+        assertTrue(count.get() > 0);
+
+        // give a change which is already in flight the chance to finish
+        Thread.sleep(20L);
+        int countAfterUnregister = count.get();
+        Thread.sleep(50L);
+        Assert.assertEquals(count.get(), countAfterUnregister, "listener must not get notified after unregister()");
+    }
+
+    @Test
+    public void testValueChangeListenerFoldsChanges() throws Exception {
+        ConfigAccessor<Integer> valCfg = config.access(DynamicChangeConfigSource.TEST_ATTRIBUTE, Integer.class).build();
+        List<Integer> values = new CopyOnWriteArrayList<>();
+
+        // a slow listener which takes 30 ms while the ConfigSource changes its value every 10 ms
+        ConfigChangeRegistration registration = valCfg.onValueChange(value -> {
+            values.add(value.get());
+            try {
+                Thread.sleep(30L);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Thread.sleep(200L);
+        int currentValue = valCfg.getValue();
+        // give the slow listener enough time to receive the value which was current before
+        Thread.sleep(100L);
+        registration.unregister();
+
+        assertTrue(values.size() > 1, "value change listener did not get notified");
+        for (int i = 1; i < values.size(); i++) {
+            assertTrue(values.get(i) > values.get(i - 1), "listener must only get notified with the latest changed value");
+        }
+
+        int first = values.get(0);
+        int last = values.get(values.size() - 1);
+        assertTrue(last - first > values.size() - 1,
+            "intermediate values must be folded together for a slow listener, but got " + values);
+        assertTrue(last >= currentValue,
+            "the latest value " + currentValue + " must get delivered to the listener, but got " + values);
+    }
+
+    @Test
+    public void testValueChangeCallbackDefault() {
+        NameOnlyChangeConfigSource configSource = new NameOnlyChangeConfigSource();
+        Config cfg = ConfigProviderResolver.instance().getBuilder()
+            .withSources(configSource)
+            .build();
+
+        try {
+            configSource.setValue("tck.config.test.nameonly.key1", "value1");
+            Assert.assertEquals(cfg.getValue("tck.config.test.nameonly.key1", String.class), "value1");
+
+            int lookupCount = configSource.getLookupCount();
+            configSource.setValue("tck.config.test.nameonly.key1", "value2");
+            Assert.assertEquals(configSource.getLookupCount(), lookupCount,
+                "Reporting a changed property name must not look up its value before it is needed");
+            Assert.assertEquals(cfg.getValue("tck.config.test.nameonly.key1", String.class), "value2");
+        }
+        finally {
+            ConfigProviderResolver.instance().releaseConfig(cfg);
+        }
+    }
+
+    @Test
+    public void testValueChangeCallbackWithValues() {
+        DeltaChangeConfigSource configSource = new DeltaChangeConfigSource();
+        Config cfg = ConfigProviderResolver.instance().getBuilder()
+            .withSources(configSource)
+            .build();
+
+        try {
+            configSource.setValue("tck.config.test.delta.key1", "value1");
+            Assert.assertEquals(cfg.getValue("tck.config.test.delta.key1", String.class), "value1");
+
+            configSource.setValue("tck.config.test.delta.key1", "value2");
+            Assert.assertEquals(cfg.getValue("tck.config.test.delta.key1", String.class), "value2");
+
+            configSource.removeValue("tck.config.test.delta.key1");
+            Assert.assertFalse(cfg.getOptionalValue("tck.config.test.delta.key1", String.class).isPresent());
+        }
+        finally {
+            ConfigProviderResolver.instance().releaseConfig(cfg);
+        }
+    }
+
     @Test(enabled = false, description = "disabled for now, Emily and Tomas will come up with a better TCK test")
     public void testValueInvalidationOnConfigChange() throws Exception {
         ConfigAccessor<Integer> valCfg = config.access(DynamicChangeConfigSource.TEST_ATTRIBUTE, Integer.class)
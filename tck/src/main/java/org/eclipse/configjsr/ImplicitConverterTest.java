@@ -28,6 +28,7 @@ import org.eclipse.configjsr.converters.implicit.ConvTestTypeWCharSequenceValueO
 import org.eclipse.configjsr.converters.implicit.ConvTestTypeWStringCt;
 import org.eclipse.configjsr.converters.implicit.ConvTestTypeWStringParse;
 import org.eclipse.configjsr.converters.implicit.ConvTestTypeWStringValueOf;
+import org.eclipse.configjsr.converters.implicit.ConvTestTypeWithoutConverter;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.testng.Arquillian;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -110,4 +111,26 @@ public class ImplicitConverterTest extends Arquillian {
         Assert.assertNotNull(value);
         Assert.assertEquals(value.getVal(), "stringValueOf");
     }
+
+    @Test
+    public void testImplicitConverterRepeatedConversion() {
+        for (int i = 0; i < 3; i++) {
+            ConvTestTypeWStringValueOf value = config.getValue("tck.config.test.javaconfig.converter.implicit.stringValueOf",
+                ConvTestTypeWStringValueOf.class);
+            Assert.assertEquals(value.getVal(), "stringValueOf");
+        }
+    }
+
+    @Test
+    public void testNoImplicitConverterRepeatedConversion() {
+        for (int i = 0; i < 3; i++) {
+            try {
+                config.getValue("tck.config.test.javaconfig.converter.implicit.stringValueOf", ConvTestTypeWithoutConverter.class);
+                Assert.fail("Expected IllegalArgumentException for a type without an implicit converter");
+            }
+            catch (IllegalArgumentException expected) {
+                // the missing converter must be reported on every attempt, also if it got cached
+            }
+        }
+    }
 }
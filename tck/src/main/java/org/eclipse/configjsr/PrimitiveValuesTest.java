@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.configjsr;
+
+import java.util.NoSuchElementException;
+
+import javax.config.Config;
+import javax.config.ConfigAccessor;
+import javax.config.ConfigSnapshot;
+import javax.inject.Inject;
+
+import org.eclipse.configjsr.base.AbstractTest;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test that the primitive accessors in {@link Config} and {@link ConfigAccessor}
+ * return the same values as the boxed lookup.
+ */
+public class PrimitiveValuesTest extends Arquillian {
+
+    private @Inject Config config;
+
+    @Deployment
+    public static WebArchive deploy() {
+        JavaArchive testJar = ShrinkWrap
+            .create(JavaArchive.class, "primitiveValuesTest.jar")
+            .addPackage(AbstractTest.class.getPackage())
+            .addClass(PrimitiveValuesTest.class)
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+            .as(JavaArchive.class);
+
+        AbstractTest.addFile(testJar, "META-INF/javaconfig.properties");
+
+        WebArchive war = ShrinkWrap
+            .create(WebArchive.class, "primitiveValuesTest.war")
+            .addAsLibrary(testJar);
+        return war;
+    }
+
+    @Test
+    public void testIntValue() {
+        String key = "tck.config.test.javaconfig.configvalue.integer";
+        int boxed = config.getValue(key, Integer.class);
+
+        Assert.assertEquals(config.getIntValue(key), 1234);
+        Assert.assertEquals(config.getIntValue(key), boxed);
+        Assert.assertEquals(config.access(key, Integer.class).buildInt().getIntValue(), boxed);
+        Assert.assertEquals(config.access(key, int.class).buildInt().getIntValue(), boxed);
+    }
+
+    @Test
+    public void testLongValue() {
+        String key = "tck.config.test.javaconfig.configvalue.long";
+        long boxed = config.getValue(key, Long.class);
+
+        Assert.assertEquals(config.getLongValue(key), 1234567890123456L);
+        Assert.assertEquals(config.getLongValue(key), boxed);
+        Assert.assertEquals(config.access(key, Long.class).buildLong().getLongValue(), boxed);
+        Assert.assertEquals(config.access(key, long.class).buildLong().getLongValue(), boxed);
+    }
+
+    @Test
+    public void testDoubleValue() {
+        String key = "tck.config.test.javaconfig.configvalue.double";
+        double boxed = config.getValue(key, Double.class);
+
+        Assert.assertEquals(config.getDoubleValue(key), 12.34567890123456);
+        Assert.assertEquals(config.getDoubleValue(key), boxed);
+        Assert.assertEquals(config.access(key, Double.class).buildDouble().getDoubleValue(), boxed);
+        Assert.assertEquals(config.access(key, double.class).buildDouble().getDoubleValue(), boxed);
+    }
+
+    @Test
+    public void testBooleanValue() {
+        String[] keys = {
+            "tck.config.test.javaconfig.configvalue.boolean.true",
+            "tck.config.test.javaconfig.configvalue.boolean.true_mixedcase",
+            "tck.config.test.javaconfig.configvalue.boolean.false",
+            "tck.config.test.javaconfig.configvalue.boolean.one",
+            "tck.config.test.javaconfig.configvalue.boolean.seventeen",
+            "tck.config.test.javaconfig.configvalue.boolean.yes_uppercase",
+            "tck.config.test.javaconfig.configvalue.boolean.no",
+            "tck.config.test.javaconfig.configvalue.boolean.y",
+            "tck.config.test.javaconfig.configvalue.boolean.on_mixedcase",
+            "tck.config.test.javaconfig.configvalue.boolean.off"
+        };
+
+        for (String key : keys) {
+            boolean boxed = config.getValue(key, Boolean.class);
+            Assert.assertEquals(config.getBooleanValue(key), boxed, key);
+            Assert.assertEquals(config.access(key, Boolean.class).buildBoolean().getBooleanValue(), boxed, key);
+            Assert.assertEquals(config.access(key, boolean.class).buildBoolean().getBooleanValue(), boxed, key);
+        }
+    }
+
+    @Test
+    public void testPrimitiveAccessorAgreesWithBoxedAccessor() {
+        ConfigAccessor.OfInt intAccessor = config.access("tck.config.test.javaconfig.configvalue.integer", Integer.class)
+            .buildInt();
+        ConfigAccessor.OfLong longAccessor = config.access("tck.config.test.javaconfig.configvalue.long", Long.class)
+            .buildLong();
+
+        Assert.assertEquals(intAccessor.getValue(), Integer.valueOf(intAccessor.getIntValue()));
+        Assert.assertEquals(longAccessor.getValue(), Long.valueOf(longAccessor.getLongValue()));
+
+        ConfigSnapshot snapshot = config.snapshotFor(intAccessor, longAccessor);
+        Assert.assertEquals(intAccessor.getIntValue(snapshot), intAccessor.getValue(snapshot).intValue());
+        Assert.assertEquals(longAccessor.getLongValue(snapshot), longAccessor.getValue(snapshot).longValue());
+    }
+
+    @Test
+    public void testPrimitiveAccessorWithDefault() {
+        ConfigAccessor.OfInt accessor = config.access("tck.config.test.javaconfig.primitive.notexisting", Integer.class)
+            .withDefault(4711)
+            .buildInt();
+
+        Assert.assertEquals(accessor.getIntValue(), 4711);
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void testMissingIntValue() {
+        config.getIntValue("tck.config.test.javaconfig.primitive.notexisting");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBrokenIntValue() {
+        config.getIntValue("tck.config.test.javaconfig.converter.integervalue.broken");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBrokenLongValue() {
+        config.access("tck.config.test.javaconfig.converter.longvalue.broken", Long.class).buildLong().getLongValue();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testPrimitiveAccessorForWrongType() {
+        config.access("tck.config.test.javaconfig.configvalue.integer", String.class).buildInt();
+    }
+}
@@ -21,6 +21,9 @@ package org.eclipse.configjsr.configsources;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import javax.config.spi.ConfigSource;
 
@@ -31,6 +34,10 @@ public class CustomDbConfigSource implements ConfigSource, AutoCloseable {
 
     private int closeCounter = 0;
 
+    private final AtomicInteger singleReadCounter = new AtomicInteger();
+    private final AtomicInteger bulkReadCounter = new AtomicInteger();
+    private final AtomicInteger allReadCounter = new AtomicInteger();
+
     private Map<String, String> configValues = new HashMap<>();
 
 
@@ -47,14 +54,35 @@ public class CustomDbConfigSource implements ConfigSource, AutoCloseable {
 
     @Override
     public Map<String, String> getProperties() {
+        allReadCounter.incrementAndGet();
         return readPropertiesFromDb();
     }
 
+    @Override
+    public void forEachProperty(BiConsumer<String, String> action) {
+        // a real DB ConfigSource would iterate over a cursor here
+        for (Map.Entry<String, String> entry : configValues.entrySet()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public String getValue(String key) {
+        singleReadCounter.incrementAndGet();
         return readPropertyFromDb(key);
     }
 
+    @Override
+    public Map<String, String> getValues(Set<String> propertyNames) {
+        bulkReadCounter.incrementAndGet();
+        return readPropertiesFromDb(propertyNames);
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "customDbConfig";
@@ -64,6 +92,17 @@ public class CustomDbConfigSource implements ConfigSource, AutoCloseable {
         return configValues;
     }
 
+    private Map<String, String> readPropertiesFromDb(Set<String> keys) {
+        // a real DB ConfigSource would do a single 'SELECT ... WHERE key IN (...)' here
+        Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            if (configValues.containsKey(key)) {
+                values.put(key, configValues.get(key));
+            }
+        }
+        return values;
+    }
+
     private String readPropertyFromDb(String key) {
         return configValues.get(key);
     }
@@ -77,4 +116,25 @@ public class CustomDbConfigSource implements ConfigSource, AutoCloseable {
     public int getCloseCounter() {
         return closeCounter;
     }
+
+    /**
+     * @return how often a single value got read via {@link #getValue(String)}
+     */
+    public int getSingleReadCounter() {
+        return singleReadCounter.get();
+    }
+
+    /**
+     * @return how often values got read in a single request via {@link #getValues(Set)}
+     */
+    public int getBulkReadCounter() {
+        return bulkReadCounter.get();
+    }
+
+    /**
+     * @return how often all values got read into a Map via {@link #getProperties()}
+     */
+    public int getAllReadCounter() {
+        return allReadCounter.get();
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.eclipse.configjsr.configsources;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.config.spi.ConfigSource;
+
+/**
+ * A ConfigSource with fixed values which reports {@link ChangeSupport#IMMUTABLE}.
+ */
+public class ImmutableConfigSource implements ConfigSource {
+
+    private final String name;
+    private final int ordinal;
+    private final Map<String, String> properties;
+
+    public ImmutableConfigSource(String name, int ordinal, Map<String, String> properties) {
+        this.name = name;
+        this.ordinal = ordinal;
+        this.properties = Collections.unmodifiableMap(new HashMap<>(properties));
+    }
+
+    @Override
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public String getValue(String propertyName) {
+        return properties.get(propertyName);
+    }
+
+    @Override
+    public boolean isExactLookup() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ChangeSupport setAttributeChangeCallback(Consumer<Set<String>> callback) {
+        return ChangeSupport.IMMUTABLE;
+    }
+}
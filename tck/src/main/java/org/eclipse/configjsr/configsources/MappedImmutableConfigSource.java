@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.eclipse.configjsr.configsources;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.config.spi.ConfigSource;
+
+/**
+ * An immutable ConfigSource which maps the property names like the environment variables ConfigSource,
+ * e.g. {@code com.ACME.size} also finds {@code com_ACME_size} and {@code COM_ACME_SIZE}.
+ */
+public class MappedImmutableConfigSource implements ConfigSource {
+
+    private final String name;
+    private final int ordinal;
+    private final Map<String, String> properties;
+
+    public MappedImmutableConfigSource(String name, int ordinal, Map<String, String> properties) {
+        this.name = name;
+        this.ordinal = ordinal;
+        this.properties = Collections.unmodifiableMap(new HashMap<>(properties));
+    }
+
+    @Override
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public String getValue(String propertyName) {
+        String value = properties.get(propertyName);
+        if (value != null) {
+            return value;
+        }
+
+        String sanitizedName = propertyName.replaceAll("[^a-zA-Z0-9_]", "_");
+        value = properties.get(sanitizedName);
+        if (value != null) {
+            return value;
+        }
+
+        return properties.get(sanitizedName.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ChangeSupport setAttributeChangeCallback(Consumer<Set<String>> callback) {
+        return ChangeSupport.IMMUTABLE;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.eclipse.configjsr.configsources;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.config.spi.ConfigSource;
+
+/**
+ * A ConfigSource which only overrides {@link #getPropertyNames()} to enumerate its properties
+ * without materializing them in a Map, and counts how often the Map got materialized nevertheless.
+ */
+public class PropertyNamesOnlyConfigSource implements ConfigSource {
+
+    private final Set<String> propertyNames;
+
+    private final AtomicInteger materializations = new AtomicInteger();
+
+    public PropertyNamesOnlyConfigSource(String... propertyNames) {
+        this.propertyNames = new LinkedHashSet<>();
+        Collections.addAll(this.propertyNames, propertyNames);
+    }
+
+    @Override
+    public int getOrdinal() {
+        return 105;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        materializations.incrementAndGet();
+        Map<String, String> properties = new HashMap<>();
+        for (String propertyName : propertyNames) {
+            properties.put(propertyName, getValue(propertyName));
+        }
+        return properties;
+    }
+
+    @Override
+    public Set<String> getPropertyNames() {
+        return Collections.unmodifiableSet(propertyNames);
+    }
+
+    @Override
+    public String getValue(String propertyName) {
+        return propertyNames.contains(propertyName) ? "valueOf:" + propertyName : null;
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName();
+    }
+
+    /**
+     * @return how often {@link #getProperties()} got invoked
+     */
+    public int getMaterializationCount() {
+        return materializations.get();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.eclipse.configjsr.configsources;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.config.spi.ConfigSource;
+
+/**
+ * A ConfigSource which does not report changes via the callback
+ * but provides a version which changes with each modification.
+ */
+public class VersionedConfigSource implements ConfigSource {
+
+    private final boolean versioned;
+
+    private final AtomicLong version = new AtomicLong(1L);
+
+    private final Map<String, String> properties = new ConcurrentHashMap<>();
+
+    public VersionedConfigSource() {
+        this(true);
+    }
+
+    /**
+     * @param versioned whether to provide a version, otherwise {@link ConfigSource#UNVERSIONED} gets returned
+     */
+    public VersionedConfigSource(boolean versioned) {
+        this.versioned = versioned;
+    }
+
+    @Override
+    public int getOrdinal() {
+        return 110;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public String getValue(String propertyName) {
+        return properties.get(propertyName);
+    }
+
+    @Override
+    public long getVersion() {
+        return versioned ? version.get() : UNVERSIONED;
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getName();
+    }
+
+    public void setValue(String propertyName, String value) {
+        properties.put(propertyName, value);
+        version.incrementAndGet();
+    }
+}
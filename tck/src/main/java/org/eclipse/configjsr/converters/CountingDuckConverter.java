@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.eclipse.configjsr.converters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.config.spi.Converter;
+
+/**
+ * A Duck Converter which counts how often it got invoked.
+ */
+public class CountingDuckConverter implements Converter<Duck> {
+
+    private final boolean pure;
+    private final AtomicInteger conversionCount = new AtomicInteger(0);
+
+    public CountingDuckConverter(boolean pure) {
+        this.pure = pure;
+    }
+
+    public int getConversionCount() {
+        return conversionCount.get();
+    }
+
+    @Override
+    public Duck convert(String value) {
+        conversionCount.incrementAndGet();
+        return new Duck(value);
+    }
+
+    @Override
+    public boolean isPure() {
+        return pure;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.configjsr.converters.implicit;
+
+/**
+ * Part of the implicit Converter test.
+ *
+ * Sample class which has neither a suitable static factory method nor a suitable constructor
+ */
+public class ConvTestTypeWithoutConverter {
+    private String val;
+
+    public ConvTestTypeWithoutConverter() {
+    }
+
+    /**
+     * not an implicit converter, the parameter type does not match
+     */
+    public ConvTestTypeWithoutConverter(Integer val) {
+        this.val = String.valueOf(val);
+    }
+
+    /**
+     * not an implicit converter, the method is not static
+     */
+    public ConvTestTypeWithoutConverter valueOf(String val) {
+        ConvTestTypeWithoutConverter o = new ConvTestTypeWithoutConverter();
+        o.val = val;
+        return o;
+    }
+
+    public String getVal() {
+        return val;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.eclipse.configjsr.dynamic;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.config.spi.ConfigSource;
+
+/**
+ * A ConfigSource which passes the changed values to the {@link javax.config.Config}
+ * instead of only the changed property names.
+ */
+public class DeltaChangeConfigSource implements ConfigSource {
+
+    private Consumer<ValueChanges> reportValueChanges;
+
+    private final Map<String, String> properties = new ConcurrentHashMap<>();
+
+    @Override
+    public int getOrdinal() {
+        return 110;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public String getValue(String propertyName) {
+        return properties.get(propertyName);
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName();
+    }
+
+    @Override
+    public ChangeSupport setValueChangeCallback(Consumer<ValueChanges> reportValueChanges) {
+        this.reportValueChanges = reportValueChanges;
+        return ChangeSupport.SUPPORTED;
+    }
+
+    public void setValue(String propertyName, String value) {
+        properties.put(propertyName, value);
+        reportValueChanges.accept(ValueChanges.of(Collections.singletonMap(propertyName, value), Collections.emptySet()));
+    }
+
+    public void removeValue(String propertyName) {
+        properties.remove(propertyName);
+        reportValueChanges.accept(ValueChanges.of(Collections.emptyMap(), Collections.singleton(propertyName)));
+    }
+}
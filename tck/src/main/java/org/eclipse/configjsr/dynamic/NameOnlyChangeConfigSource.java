@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016-2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.eclipse.configjsr.dynamic;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.config.spi.ConfigSource;
+
+/**
+ * A ConfigSource which only reports the names of changed properties
+ * via {@link ConfigSource#setAttributeChangeCallback(Consumer)} and counts how often its values get looked up.
+ */
+public class NameOnlyChangeConfigSource implements ConfigSource {
+
+    private Consumer<Set<String>> reportAttributeChange;
+
+    private final Map<String, String> properties = new ConcurrentHashMap<>();
+
+    private final AtomicInteger lookupCount = new AtomicInteger();
+
+    @Override
+    public int getOrdinal() {
+        return 110;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        lookupCount.incrementAndGet();
+        return properties;
+    }
+
+    @Override
+    public String getValue(String propertyName) {
+        lookupCount.incrementAndGet();
+        return properties.get(propertyName);
+    }
+
+    @Override
+    public Map<String, String> getValues(Set<String> propertyNames) {
+        lookupCount.incrementAndGet();
+        return ConfigSource.super.getValues(propertyNames);
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName();
+    }
+
+    @Override
+    public ChangeSupport setAttributeChangeCallback(Consumer<Set<String>> reportAttributeChange) {
+        this.reportAttributeChange = reportAttributeChange;
+        return ChangeSupport.SUPPORTED;
+    }
+
+    public void setValue(String propertyName, String value) {
+        properties.put(propertyName, value);
+        reportAttributeChange.accept(Collections.singleton(propertyName));
+    }
+
+    /**
+     * @return how often any value of this ConfigSource got looked up
+     */
+    public int getLookupCount() {
+        return lookupCount.get();
+    }
+}